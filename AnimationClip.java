@@ -0,0 +1,381 @@
+import java.awt.image.BufferedImage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+import java.io.FileReader;
+import java.io.BufferedReader;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+/**
+ * This class represents the data of an animation: its frames facing both ways,
+ * the hitboxes of each frame, the general hitbox and the way it loops. It never
+ * changes once it is loaded, so every {@code AnimationCycle} playing the same
+ * animation shares one {@code AnimationClip}. Clips loaded from animation files
+ * are only loaded once per file and sprite sheet.
+ * @see AnimationCycle
+ * @see AnimationFrame
+ */
+public class AnimationClip {
+    // The clips loaded from each animation file, one for each sprite sheet used.
+    private static HashMap<String, ArrayList<AnimationClip>> loadedClips =
+            new HashMap<String, ArrayList<AnimationClip>>();
+
+    private BufferedImage picSheet;
+    private String animationFileName;
+
+    private AnimationFrame[] frames;
+    private int loopType;
+    private int numFrames;
+    private int frameWidth;
+    private int frameHeight;
+
+    // The general hitbox relative to the anchor.
+    private Vector generalHitboxPos;
+    private int generalHitboxWidth;
+    private int generalHitboxHeight;
+
+    /**
+     * This constructs an {@code AnimationClip} object out of a sprite sheet. Each
+     * frame has a single hitbox around its image.
+     * @param picSheet The sprite sheet to use. Each frame should be stacked vertically up to down.
+     * @param numFrames The number of frames in the sprite sheet.
+     * @param loopType The way to handle the cycle once it is finished.
+     */
+    public AnimationClip(BufferedImage picSheet, int numFrames, int loopType) {
+        this(picSheet, picSheet.getWidth(), picSheet.getHeight() / numFrames, loopType);
+    }
+
+    /**
+     * This constructs an {@code AnimationClip} object out of a sprite sheet. Each
+     * frame has a single hitbox around its image.
+     * @param picSheet The sprite sheet to use. Each frame should be stacked vertically up to down.
+     * @param frameWidth The width of each frame.
+     * @param frameHeight The height of each frame.
+     * @param loopType The way to handle the cycle once it is finished.
+     */
+    public AnimationClip(BufferedImage picSheet, int frameWidth, int frameHeight, int loopType) {
+        this.picSheet = picSheet;
+        this.animationFileName = null;
+        this.loopType = loopType;
+
+        this.numFrames = picSheet.getHeight() / frameHeight;
+        this.frameWidth = frameWidth;
+        this.frameHeight = frameHeight;
+
+        // The general hitbox covers the whole frame.
+        this.generalHitboxPos = Vector.VECTOR_ZERO.clone();
+        this.generalHitboxWidth = frameWidth;
+        this.generalHitboxHeight = frameHeight;
+
+        // Create the individual {@code AnimationFrame} objects.
+        this.frames = new AnimationFrame[this.numFrames];
+        for (int i = 0; i < this.numFrames; i++) {
+            this.frames[i] = new AnimationFrame(this.getFrameImage(i),
+                    this.getReflectedFrameImage(i), this.getReflectionLine());
+        }
+    }
+
+    /**
+     * This constructs an {@code AnimationClip} object from file. Use {@code get}
+     * instead to share clips that were already loaded.
+     * @param picSheet The image sheet with each frame in the animation.
+     * @param animationFileName The file containing the information for this {@code AnimationClip}.
+     * @see AnimationClip#loadFromFile
+     */
+    public AnimationClip(BufferedImage picSheet, String animationFileName) {
+        this.picSheet = picSheet;
+        this.animationFileName = animationFileName;
+        this.loadFromFile();
+    }
+
+    /**
+     * This method gets the {@code AnimationClip} for an animation file and sprite
+     * sheet, loading it the first time it is needed.
+     * @param picSheet The image sheet with each frame in the animation.
+     * @param animationFileName The file containing the information for the animation.
+     * @return The shared {@code AnimationClip} object.
+     */
+    public static synchronized AnimationClip get(BufferedImage picSheet, String animationFileName) {
+        ArrayList<AnimationClip> clips = loadedClips.get(animationFileName);
+        if (clips == null) {
+            clips = new ArrayList<AnimationClip>();
+            loadedClips.put(animationFileName, clips);
+        }
+
+        for (AnimationClip clip: clips) {
+            if (clip.picSheet == picSheet) {
+                return clip;
+            }
+        }
+
+        AnimationClip clip = new AnimationClip(picSheet, animationFileName);
+        clips.add(clip);
+        return clip;
+    }
+
+    /**
+     * This method loads the animation from the animation file.
+     * <ul>
+     * <li> Frame numbers start from {@code 0}.
+     * <li> All labels should be kept.</li>
+     * <li> Spacing should be kept.</li>
+     * <li> {@code hitboxName} can be changed with the name of any hitbox as long as it has no spaces.</li>
+     * <li> {@code x} and {@code y} can be of type {@code double}.</li>
+     * <li> {@code n}, {@code width}, and {@code height} should be of type {@code int}.</li>
+     * </ul>
+     * <p>The file should be formatted as follows with values filled in.</p>
+     * <pre>{@code
+     *loopType: NO_LOOPING/LOOP_TO_START/LOOP_BACKWARDS
+     *generalHitbox: x y width height
+     *numFrames: n
+     *FRAME0
+     *numHitboxes: n
+     *hitboxName: x y width height
+     *hitboxName: x y width height
+     *hitboxName: x y width height
+     *FRAME1
+     *numHitboxes: n
+     *hitboxName: x y width height
+     *hitboxName: x y width height
+     *FRAME2
+     *numHitboxes: n
+     *hitboxName: x y width height
+     *hitboxName: x y width height
+     * }</pre>
+     */
+    private void loadFromFile() {
+        this.loopType = AnimationCycle.NO_LOOPING;
+        this.generalHitboxPos = Vector.VECTOR_ZERO.clone();
+
+        BufferedReader input;
+        // Open animation cycle file.
+        try {
+            FileReader animationFile = new FileReader(this.animationFileName);
+            input = new BufferedReader(animationFile);
+        } catch (FileNotFoundException ex) {
+            System.out.println("Error: Animation file not found. [" + this.animationFileName + "]");
+            this.numFrames = 0;
+            this.frames = new AnimationFrame[0];
+            return;
+        }
+
+        // Load general animation cycle information.
+        try {
+            // Get the looping type.
+            String loopTypeString = input.readLine().split(" ")[1];
+            if (loopTypeString.equals("NO_LOOPING")) {
+                this.loopType = AnimationCycle.NO_LOOPING;
+            } else if (loopTypeString.equals("LOOP_TO_START")) {
+                this.loopType = AnimationCycle.LOOP_TO_START;
+            } else if (loopTypeString.equals("LOOP_BACKWARDS")) {
+                this.loopType = AnimationCycle.LOOP_BACKWARDS;
+            } else {
+                System.out.println("Invalid loop type: [" + loopTypeString + "]");
+                this.loopType = AnimationCycle.NO_LOOPING;
+            }
+
+            // Get the general hitbox.
+            String[] generalHitboxData = input.readLine().split(" ");
+            this.generalHitboxPos = new Vector(Double.parseDouble(generalHitboxData[1]),
+                    Double.parseDouble(generalHitboxData[2]));
+            this.generalHitboxWidth = Integer.parseInt(generalHitboxData[3]);
+            this.generalHitboxHeight = Integer.parseInt(generalHitboxData[4]);
+
+            this.numFrames = Integer.parseInt(input.readLine().split(" ")[1]);
+        } catch (IOException ex) {
+            System.out.println("Error: Could not read animation file (general information).");
+        } catch (NumberFormatException ex) {
+            System.out.println("Error: Incorrect animation file general information format (expected numerical value).");
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            System.out.println("Error: Incorrect animation file general information format (incorrect number of values).");
+        }
+
+        // Calculate the dimensions of the animation frames.
+        this.frames = new AnimationFrame[this.numFrames];
+        this.frameWidth = this.picSheet.getWidth();
+        this.frameHeight = this.picSheet.getHeight() / this.numFrames;
+
+        // Create the animation frames.
+        try {
+            for (int i = 0; i < this.numFrames; i++) {
+                int frameIndex = Integer.parseInt(input.readLine().substring("FRAME".length()));
+                int numHitboxes = Integer.parseInt(input.readLine().split(" ")[1]);
+
+                // Load the current frame's hitboxes.
+                Hitbox[] hitboxes = new Hitbox[numHitboxes];
+                for (int j = 0; j < numHitboxes; j++) {
+                    String[] hitboxData = input.readLine().split(" ");
+                    Vector relativePosition = new Vector(Double.parseDouble(hitboxData[1]),
+                            Double.parseDouble(hitboxData[2]));
+                    int width = Integer.parseInt(hitboxData[3]);
+                    int height = Integer.parseInt(hitboxData[4]);
+                    hitboxes[j] = new Hitbox(relativePosition, width, height);
+                }
+
+                this.frames[frameIndex] = new AnimationFrame(this.getFrameImage(frameIndex),
+                        this.getReflectedFrameImage(frameIndex), hitboxes, this.getReflectionLine());
+            }
+        } catch (IOException ex) {
+            System.out.println("Error: Could not read animation file (animation frames).");
+        } catch (NumberFormatException ex) {
+            System.out.println("Error: Incorrect animation file frames (expected numerical value).");
+        } catch (ArrayIndexOutOfBoundsException ex) {
+            System.out.println("Error: Incorrect animation file frames (incorrect number of values).");
+        } catch (IndexOutOfBoundsException ex) {
+            System.out.println("Error: Incorrect animation file frames (incorrect frame number label).");
+        }
+
+        // Check if all frames were properly loaded.
+        boolean allFramesLoaded = true;
+        for (int i = 0; i < this.numFrames; i++) {
+            if (this.frames[i] == null) {
+                System.out.println("Error: frame " + i + " not loaded.");
+                allFramesLoaded = false;
+            }
+        }
+
+        if (!allFramesLoaded) {
+            System.out.println("Error: Incomplete animation file. [" + this.animationFileName + "]");
+        }
+
+        // Close animation cycle file.
+        try {
+            input.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Animation file cannot be closed.");
+        }
+    }
+
+    /**
+     * This method cuts the image of a frame out of the sprite sheet.
+     * @param index The index of the frame.
+     * @return The image of the frame, sharing its pixels with the sprite sheet.
+     */
+    private BufferedImage getFrameImage(int index) {
+        return this.picSheet.getSubimage(0, index * this.frameHeight, this.frameWidth,
+                this.frameHeight);
+    }
+
+    /**
+     * This method cuts the reflected image of a frame out of the reflected sprite
+     * sheet. The sheet is only reflected once and shared by every clip using it.
+     * @param index The index of the frame.
+     * @return The reflected image of the frame, sharing its pixels with the reflected sheet.
+     * @see Sprite#getReflectedImage
+     */
+    private BufferedImage getReflectedFrameImage(int index) {
+        return Sprite.getReflectedImage(this.picSheet).getSubimage(
+                this.picSheet.getWidth() - this.frameWidth, index * this.frameHeight,
+                this.frameWidth, this.frameHeight);
+    }
+
+    /**
+     * This method calculates the vertical line that frames are reflected over,
+     * which is the middle of the general hitbox.
+     * @return The x-coordinate of the line relative to the anchor.
+     */
+    private int getReflectionLine() {
+        return (int) this.generalHitboxPos.getX() + this.generalHitboxWidth / 2;
+    }
+
+    public AnimationFrame getFrame(int index) {
+        return this.frames[index];
+    }
+
+    public int getNumFrames() {
+        return this.numFrames;
+    }
+
+    /**
+     * This method finds the step that comes after another when this clip is played
+     * without an {@code AnimationCycle}. A step counts the frames played since the
+     * start of the clip, so a clip that loops backwards takes twice as many steps
+     * to repeat. A clip that does not loop stays on its last step.
+     * @param step The current step, starting from {@code 0}.
+     * @return The next step.
+     * @see #getFrameIndex(int)
+     */
+    public int getNextStep(int step) {
+        if (this.checkLastStep(step)) {
+            return step;
+        }
+
+        int numSteps = this.numFrames;
+        if (this.loopType == AnimationCycle.LOOP_BACKWARDS) {
+            numSteps = Math.max(1, 2 * (this.numFrames - 1));
+        }
+        return (step + 1) % numSteps;
+    }
+
+    /**
+     * This method finds the index of the frame shown at a step of this clip.
+     * @param step The step, starting from {@code 0}.
+     * @return The index of the frame.
+     */
+    public int getFrameIndex(int step) {
+        if (step >= this.numFrames) {
+            return 2 * (this.numFrames - 1) - step;
+        }
+        return step;
+    }
+
+    /**
+     * This method checks if a step is the last step of this clip. Only clips that
+     * do not loop have a last step, the same as {@link AnimationCycle#checkDone()}.
+     * @param step The step, starting from {@code 0}.
+     * @return {@code true} if it is the last step, {@code false} otherwise.
+     */
+    public boolean checkLastStep(int step) {
+        return this.loopType != AnimationCycle.LOOP_TO_START
+                && this.loopType != AnimationCycle.LOOP_BACKWARDS && step == this.numFrames - 1;
+    }
+
+    public int getLoopType() {
+        return this.loopType;
+    }
+
+    public int getFrameWidth() {
+        return this.frameWidth;
+    }
+
+    public int getFrameHeight() {
+        return this.frameHeight;
+    }
+
+    /**
+     * This method gets a copy of the position of the general hitbox relative to
+     * the anchor.
+     * @return A copy of the relative position.
+     */
+    public Vector getGeneralHitboxPos() {
+        return this.generalHitboxPos.clone();
+    }
+
+    public double getGeneralHitboxX() {
+        return this.generalHitboxPos.getX();
+    }
+
+    public double getGeneralHitboxY() {
+        return this.generalHitboxPos.getY();
+    }
+
+    public int getGeneralHitboxWidth() {
+        return this.generalHitboxWidth;
+    }
+
+    public int getGeneralHitboxHeight() {
+        return this.generalHitboxHeight;
+    }
+
+    /**
+     * This method checks whether this {@code AnimationClip} was loaded from an
+     * animation file.
+     * @return {@code true} if it was, {@code false} if it was made from a sprite sheet alone.
+     */
+    public boolean checkFromFile() {
+        return this.animationFileName != null;
+    }
+}
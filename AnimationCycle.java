@@ -1,19 +1,14 @@
 import java.awt.Graphics;
 import java.awt.image.BufferedImage;
 
-import java.util.ArrayList;
-
-import java.io.FileReader;
-import java.io.BufferedReader;
-
-import java.io.FileNotFoundException;
-import java.io.IOException;
-
 /**
  * This class is used for easily combining animations with hitboxes. Animations
- * can be read from a custom animation file. An {@code AnimationCycle} is made 
- * of {@code AnimationFrame}s and a general hitbox that describes the general
- * area that hitboxes in the {@code AnimationFrame}s will fall in.
+ * can be read from a custom animation file. An {@code AnimationCycle} plays an
+ * {@code AnimationClip}, which is made of {@code AnimationFrame}s and a general
+ * hitbox that describes the general area that hitboxes in the {@code AnimationFrame}s
+ * will fall in. The clip is shared, so an {@code AnimationCycle} only keeps the
+ * state of playing it: the current frame, the way it faces and its position.
+ * @see AnimationClip
  * @see AnimationFrame
  */
 public class AnimationCycle implements Drawable, Debuggable, Collidable {
@@ -24,17 +19,18 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
     private static final int FIRST_LOOP_TYPE = 0;
     private static final int LAST_LOOP_TYPE = 2;
     
-    private AnimationFrame[] frames;
+    private AnimationClip clip;
     private AnimationFrame activeFrame;
     private int loopType;
 
     private int indexDir;
     private int curIndex;
-    private int numFrames;
+    private int facing;
     private Vector position;
-    private int frameWidth;
-    private int frameHeight;
     private RelativeHitbox generalHitbox;
+    // The center of the general hitbox, kept up to date whenever it moves.
+    private int centerX;
+    private int centerY;
 
     /**
      * This constructs an {@code AnimationCycle} object out of of a sprite sheet.
@@ -44,27 +40,7 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      * @param loopType The way to handle the cycle once it is finished. The cycle can stop, loop to start, or loop backwards.
      */
     public AnimationCycle(Vector position, BufferedImage picSheet, int numFrames, int loopType) {
-        this.position = position;
-        this.frames = new AnimationFrame[numFrames];
-
-        // Calculate the dimensions of the frames.
-        this.numFrames = numFrames;
-        this.frameWidth = picSheet.getWidth();
-        this.frameHeight = picSheet.getHeight() / numFrames;
-
-        // Create the individual {@code AnimationFrame} objects.
-        for (int i = 0; i < numFrames; i++) {
-            BufferedImage subImage = picSheet.getSubimage(0, i * frameHeight, 
-                    frameWidth, frameHeight);
-            this.frames[i] = new AnimationFrame(position, subImage);
-        }
-
-        this.setLooping(loopType);
-        this.indexDir = 1;
-        this.setActiveFrame(0);
-
-        this.generalHitbox = new RelativeHitbox(position, Vector.VECTOR_ZERO.clone(), 
-                this.frameWidth, this.frameHeight);
+        this(position, new AnimationClip(picSheet, numFrames, loopType));
     }
 
     /**
@@ -77,178 +53,42 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      */
     public AnimationCycle(Vector position, BufferedImage picSheet, int frameWidth, int frameHeight,
             int loopType) {
-        this.position = position;
-        this.frames = new AnimationFrame[this.numFrames];
-        
-        // Calculate the number of frames.
-        this.numFrames = picSheet.getHeight() / frameHeight;
-        this.frameWidth = frameWidth;
-        this.frameHeight = frameHeight;
-
-        // Create the individual {@code AnimationFrame} objects.
-        for (int i = 0; i < numFrames; i++) {
-            BufferedImage subImage = picSheet.getSubimage(0, i * frameHeight, 
-                    frameWidth, frameHeight);
-            this.frames[i] = new AnimationFrame(position, subImage);
-        }
-
-        this.setLooping(loopType);
-        this.indexDir = 1;
-        this.setActiveFrame(0);
-
-        this.generalHitbox = new RelativeHitbox(position, Vector.VECTOR_ZERO.clone(), 
-                this.frameWidth, this.frameHeight);
+        this(position, new AnimationClip(picSheet, frameWidth, frameHeight, loopType));
     }
 
     /**
      * This constructs an {@code AnimationCycle} object from file. This includes 
-     * information relating to the {@code Hitbox}es of each frame.
+     * information relating to the {@code Hitbox}es of each frame. The file is only
+     * read the first time it is used with the sprite sheet.
      * @param position The top-left anchor coordinate of this {@code AnimationCycle}.
      * @param picSheet The image sheet with each frame in the animation.
      * @param animationFileName The file containing the information for this {@code AnimationCycle}.
-     * @see AnimationCycle#loadFromFile
+     * @see AnimationClip#get
      */
     public AnimationCycle(Vector position, BufferedImage picSheet, String animationFileName) {
-        this.position = position;
-        this.loadFromFile(picSheet, animationFileName);
-
-        this.indexDir = 1;
-        this.setActiveFrame(0);
-        this.generalHitbox.setColor(Const.GREEN);
+        this(position, AnimationClip.get(picSheet, animationFileName));
     }
 
     /**
-     * This method loads the animation cycle from a file.
-     * <ul>
-     * <li> Frame numbers start from {@code 0}.
-     * <li> All labels should be kept.</li>
-     * <li> Spacing should be kept.</li>
-     * <li> {@code hitboxName} can be changed with the name of any hitbox as long as it has no spaces.</li>
-     * <li> {@code x} and {@code y} can be of type {@code double}.</li>
-     * <li> {@code n}, {@code width}, and {@code height} should be of type {@code int}.</li>
-     * </ul>
-     * <p>The file should be formatted as follows with values filled in.</p>
-     * <pre>{@code
-     *loopType: NO_LOOPING/LOOP_TO_START/LOOP_BACKWARDS
-     *generalHitbox: x y width height
-     *numFrames: n
-     *FRAME0
-     *numHitboxes: n
-     *hitboxName: x y width height
-     *hitboxName: x y width height
-     *hitboxName: x y width height
-     *FRAME1
-     *numHitboxes: n
-     *hitboxName: x y width height
-     *hitboxName: x y width height
-     *FRAME2
-     *numHitboxes: n
-     *hitboxName: x y width height
-     *hitboxName: x y width height
-     * }</pre>
-     * @param picSheet
-     * @param animationFileName
+     * This constructs an {@code AnimationCycle} object that plays an {@code AnimationClip}.
+     * @param position The top-left anchor coordinate of this {@code AnimationCycle}.
+     * @param clip The clip to play.
      */
-    public void loadFromFile(BufferedImage picSheet, String animationFileName) {
-        BufferedReader input;
-        // Open animation cycle file.
-        try {
-            FileReader animationFile = new FileReader(animationFileName);
-            input = new BufferedReader(animationFile);
-        } catch (FileNotFoundException ex) {
-            System.out.println("Error: Animation file not found. [" + animationFileName + "]");
-            this.numFrames = 0;
-            return;
-        }
+    public AnimationCycle(Vector position, AnimationClip clip) {
+        this.clip = clip;
+        this.position = position.clone();
+        this.facing = AnimationFrame.ORIGINAL;
 
-        // Load general animation cycle information.
-        try {
-            // Get the looping type.
-            String loopTypeString = input.readLine().split(" ")[1];
-            if (loopTypeString.equals("NO_LOOPING")) {
-                this.setLooping(NO_LOOPING);
-            } else if (loopTypeString.equals("LOOP_TO_START")) {
-                this.setLooping(LOOP_TO_START);
-            } else if (loopTypeString.equals("LOOP_BACKWARDS")) {
-                this.setLooping(LOOP_BACKWARDS);
-            } else {
-                System.out.println("Invalid loop type: [" + loopTypeString + "]");
-                this.setLooping(NO_LOOPING);
-            }
-
-            // Get the general hitbox.
-            String[] generalHitboxData = input.readLine().split(" ");
-            Vector relativePosition = new Vector(Double.parseDouble(generalHitboxData[1]), 
-                    Double.parseDouble(generalHitboxData[2]));
-            int width = Integer.parseInt(generalHitboxData[3]);
-            int height = Integer.parseInt(generalHitboxData[4]);
-            this.generalHitbox = new RelativeHitbox(this.position, relativePosition, width, height);
-
-            this.numFrames = Integer.parseInt(input.readLine().split(" ")[1]);
-        } catch (IOException ex) {
-            System.out.println("Error: Could not read animation file (general information).");
-        } catch (NumberFormatException ex) {
-            System.out.println("Error: Incorrect animation file general information format (expected numerical value).");
-        } catch (ArrayIndexOutOfBoundsException ex) {
-            System.out.println("Error: Incorrect animation file general information format (incorrect number of values).");
-        }
-
-        // Calculate the dimensions of the animation frames.
-        this.frames = new AnimationFrame[this.numFrames];
-        this.frameWidth = picSheet.getWidth();
-        this.frameHeight = picSheet.getHeight() / this.numFrames;
-        
-        // Create the animation frames.
-        try {
-            for (int i = 0; i < this.numFrames; i++) {
-                int frameIndex = Integer.parseInt(input.readLine().substring("FRAME".length()));
-                int numHitboxes = Integer.parseInt(input.readLine().split(" ")[1]);
-                
-                // Load the current frame's hitboxes.
-                ArrayList<RelativeHitbox> hitboxes = new ArrayList<RelativeHitbox>();
-                for (int j = 0; j < numHitboxes; j++) {
-                    String[] hitboxData = input.readLine().split(" ");
-                    Vector relativePosition = new Vector(Double.parseDouble(hitboxData[1]), 
-                            Double.parseDouble(hitboxData[2]));
-                    int width = Integer.parseInt(hitboxData[3]);
-                    int height = Integer.parseInt(hitboxData[4]);
-                    RelativeHitbox hitbox = new RelativeHitbox(this.position, relativePosition, width, height);
-                    hitboxes.add(hitbox);
-                }
-
-                this.frames[frameIndex] = new AnimationFrame(this.position, 
-                        picSheet.getSubimage(0, frameIndex * frameHeight, frameWidth, 
-                        frameHeight), hitboxes);
-            }
-        } catch (IOException ex) {
-            System.out.println("Error: Could not read animation file (animation frames).");
-        } catch (NumberFormatException ex) {
-            System.out.println("Error: Incorrect animation file frames (expected numerical value).");
-        } catch (ArrayIndexOutOfBoundsException ex) {
-            System.out.println("Error: Incorrect animation file frames (incorrect number of values).");
-        } catch (IndexOutOfBoundsException ex) {
-            System.out.println("Error: Incorrect animation file frames (incorrect frame number label).");
-        }
-
-        // Check if all frames were properly loaded.
-        boolean allFramesLoaded = true;
-        for (int i = 0; i < this.numFrames; i++) {
-            if (this.frames[i] == null) {
-                System.out.println("Error: frame " + i + " not loaded.");
-                allFramesLoaded = false;
-            }
-        }
-
-        if (!allFramesLoaded) {
-            System.out.println("Error: Incomplete animation file. [" + animationFileName + "]");
-        }
+        this.setLooping(clip.getLoopType());
+        this.indexDir = 1;
+        this.setActiveFrame(0);
 
-        // Close animation cycle file.
-        try {
-            input.close();
-        } catch (IOException ex) {
-            System.out.println("Error: Animation file cannot be closed.");
+        this.generalHitbox = new RelativeHitbox(position, clip.getGeneralHitboxPos(),
+                clip.getGeneralHitboxWidth(), clip.getGeneralHitboxHeight());
+        if (clip.checkFromFile()) {
+            this.generalHitbox.setColor(Const.GREEN);
         }
+        this.updateCenter();
     }
 
     /**
@@ -266,7 +106,7 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      * If this cycle is looping, this method will always return {@code false}.
      */
     public boolean checkDone() {
-        return (this.loopType == NO_LOOPING && this.curIndex == this.numFrames - 1);
+        return (this.loopType == NO_LOOPING && this.curIndex == this.clip.getNumFrames() - 1);
     }
     
     public Vector getPos() {
@@ -274,36 +114,68 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
     }
     
     public int getFrameWidth() {
-        return this.frameWidth;
+        return this.clip.getFrameWidth();
     }
     
     public int getFrameHeight() {
-        return this.frameHeight;
+        return this.clip.getFrameHeight();
+    }
+
+    public AnimationClip getClip() {
+        return this.clip;
     }
 
     /**
      * This method returns a reference to the general hitbox of this {@code AnimationCycle}.
+     * It should only be read; it is moved by {@link #setPos(Vector)}.
      * @return A {@code RelativeHitbox} object.
      */
     public Hitbox getGeneralHitbox() {
         return this.generalHitbox;
     }
 
+    public int getCenterX() {
+        return this.centerX;
+    }
+
+    public int getCenterY() {
+        return this.centerY;
+    }
+
     /**
      * This method returns a reference to the active frame of this {@code AnimationCycle} 
-     * when this method is called.
+     * when this method is called. The frame is shared and has no position of its own.
      * @return A reference to a {@code AnimationFrame} object.
      */
     public AnimationFrame getActiveFrame() {
         return this.activeFrame;
     }
+
+    /**
+     * This method gets the way this {@code AnimationCycle} faces.
+     * @return {@code AnimationFrame.ORIGINAL} or {@code AnimationFrame.REFLECTED}.
+     */
+    public int getFacing() {
+        return this.facing;
+    }
     
+    /**
+     * This method moves this {@code AnimationCycle} and its general hitbox. It does
+     * NOT store a reference to the new position.
+     * @param newPos The new top-left anchor coordinate.
+     */
     public void setPos(Vector newPos) {
-        this.position = newPos;
-        for (AnimationFrame frame: this.frames) {
-            frame.setPos(newPos);
-        }
-        this.generalHitbox.setAnchorPos(newPos);
+        this.position.set(newPos);
+        this.generalHitbox.setAnchorPos(this.position);
+        this.updateCenter();
+    }
+
+    /**
+     * This method calculates the center of the general hitbox again after it moves.
+     */
+    private void updateCenter() {
+        this.centerX = this.generalHitbox.getX() + this.generalHitbox.getWidth() / 2;
+        this.centerY = this.generalHitbox.getY() + this.generalHitbox.getHeight() / 2;
     }
 
     /**
@@ -326,8 +198,8 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      * @param index The index of the frame to be set as active.
      */
     public void setActiveFrame(int index) {
-        this.curIndex = index % this.numFrames;
-        this.activeFrame = this.frames[this.curIndex];
+        this.curIndex = index % this.clip.getNumFrames();
+        this.activeFrame = this.clip.getFrame(this.curIndex);
     }
 
     /**
@@ -344,7 +216,7 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
         if (this.loopType == LOOP_BACKWARDS) {
             if (this.curIndex == 0) {
                 this.indexDir = 1;
-            } else if (this.curIndex == this.numFrames - 1) {
+            } else if (this.curIndex == this.clip.getNumFrames() - 1) {
                 this.indexDir = -1;
             }
         }
@@ -356,7 +228,7 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      */
     @Override
     public boolean contains(int x, int y) {
-        return this.activeFrame.contains(x, y);
+        return this.activeFrame.contains(this.position, this.facing, x, y);
     }
 
     /**
@@ -365,7 +237,7 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      */
     @Override
     public boolean intersects(Hitbox other) {
-        return this.activeFrame.intersects(other);
+        return this.activeFrame.intersects(this.position, this.facing, other);
     }
 
     /**
@@ -375,7 +247,24 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      * @return
      */
     public boolean intersects(AnimationCycle otherCycle) {
-        return this.activeFrame.intersects(otherCycle.getActiveFrame());
+        return this.activeFrame.intersects(this.position, this.facing, otherCycle.getActiveFrame(),
+                otherCycle.position, otherCycle.getFacing());
+    }
+
+    /**
+     * This method determines whether an {@code AnimationFrame} that is not played by
+     * an {@code AnimationCycle} intersects with the current active {@code AnimationFrame}.
+     * @param otherFrame The other {@code AnimationFrame} to check.
+     * @param otherAnchorX The anchor x-coordinate of the other frame.
+     * @param otherAnchorY The anchor y-coordinate of the other frame.
+     * @param otherFacing The way the other frame faces.
+     * @return {@code true} if they do intersect, {@code false} otherwise.
+     * @see EnemySystem
+     */
+    public boolean intersects(AnimationFrame otherFrame, double otherAnchorX, double otherAnchorY,
+            int otherFacing) {
+        return this.activeFrame.intersects(this.position.getX(), this.position.getY(), this.facing,
+                otherFrame, otherAnchorX, otherAnchorY, otherFacing);
     }
     
     /**
@@ -383,7 +272,7 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
      */
     @Override
     public void draw(Graphics graphics) {
-        this.activeFrame.draw(graphics);
+        this.activeFrame.draw(graphics, this.position, this.facing);
     }
 
     /**
@@ -392,17 +281,19 @@ public class AnimationCycle implements Drawable, Debuggable, Collidable {
     @Override
     public void drawDebugInfo(Graphics graphics) {
         this.generalHitbox.drawDebugInfo(graphics);
-        this.activeFrame.drawDebugInfo(graphics);
+        this.activeFrame.drawDebugInfo(graphics, this.position, this.facing);
     }
 
     /**
      * This method reflects the sprites and hitboxes of this {@code AnimationCycle}
-     * over the middle of the general hitbox.
+     * over the middle of the general hitbox. The frames already hold both ways,
+     * so this only switches which way is used.
      */
     public void reflectHorizontally() {
-        int xLine = this.generalHitbox.getX() + this.generalHitbox.getWidth() / 2;
-        for (AnimationFrame frame: this.frames) {
-            frame.reflectHorizontally(xLine);
+        if (this.facing == AnimationFrame.ORIGINAL) {
+            this.facing = AnimationFrame.REFLECTED;
+        } else {
+            this.facing = AnimationFrame.ORIGINAL;
         }
     }
 }
@@ -1,87 +1,205 @@
-import java.util.ArrayList;
 import java.awt.image.BufferedImage;
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.BasicStroke;
 
 /*
  * This class represents a single frame in the animation cycle of an entity. It
- * contains both the sprite and the hitboxes associated with it.
+ * contains both the image and the hitboxes associated with it, facing either way.
+ * An {@code AnimationFrame} never changes once it is created, so it is shared by
+ * every {@code AnimationCycle} playing the same {@code AnimationClip}. The position
+ * and the way the frame faces are given by the cycle whenever it is used.
  */
-public class AnimationFrame implements Drawable, Debuggable, Collidable {
-    private Vector position;
-    private Sprite sprite;
-    private ArrayList<RelativeHitbox> hitboxes;
+public class AnimationFrame {
+    // The ways a frame can face. Frames in sprite sheets face the original way.
+    public static final int ORIGINAL = 0;
+    public static final int REFLECTED = 1;
+    public static final int NUM_FACINGS = 2;
+
+    // The number of ints each rectangle takes up: x, y, width and height.
+    private static final int RECT_SIZE = 4;
+
+    // The image facing each way, and where it is drawn relative to the anchor.
+    private BufferedImage[] images;
+    private int[] imageXs;
+
+    // The hitboxes relative to the anchor for each facing, one rectangle after another.
+    private int numHitboxes;
+    private int[][] hitboxRects;
+    // The smallest rectangle around all the hitboxes for each facing.
+    private int[][] bounds;
+
+    /**
+     * This constructs an {@code AnimationFrame} object with a single hitbox around
+     * the image.
+     * @param image The image of the frame.
+     * @param reflectedImage The image reflected horizontally.
+     * @param xLine The vertical line relative to the anchor that the frame is reflected over.
+     */
+    public AnimationFrame(BufferedImage image, BufferedImage reflectedImage, int xLine) {
+        this(image, reflectedImage, new Hitbox[] {new Hitbox(0, 0, image.getWidth(),
+                image.getHeight())}, xLine);
+    }
 
     /**
-     * This constructs an AnimationFrame object with a single hitbox around the image.
-     * @param x The x-coordinate of the AnimationFrame.
-     * @param y The y-coordinate of the AnimationFrame.
-     * @param pic The image to use for the sprite.
+     * This constructs an {@code AnimationFrame} object with preset hitboxes.
+     * @param image The image of the frame.
+     * @param reflectedImage The image reflected horizontally.
+     * @param hitboxes The hitboxes of the frame, with positions relative to the anchor.
+     * @param xLine The vertical line relative to the anchor that the frame is reflected over.
      */
-    public AnimationFrame(int x, int y, BufferedImage pic) {
-        this.position = new Vector(x, y);
-        this.sprite = new Sprite(x, y, pic);
-        this.hitboxes = new ArrayList<RelativeHitbox>();
+    public AnimationFrame(BufferedImage image, BufferedImage reflectedImage, Hitbox[] hitboxes,
+            int xLine) {
+        this.images = new BufferedImage[] {image, reflectedImage};
+        this.imageXs = new int[] {0, 2 * xLine - image.getWidth()};
 
-        RelativeHitbox hitbox = new RelativeHitbox(this.position, Vector.VECTOR_ZERO.clone(), 
-                this.sprite.getWidth(), this.sprite.getHeight());
-        this.hitboxes.add(hitbox);
+        this.numHitboxes = hitboxes.length;
+        this.hitboxRects = new int[NUM_FACINGS][hitboxes.length * RECT_SIZE];
+        for (int i = 0; i < hitboxes.length; i++) {
+            int x = hitboxes[i].getX();
+            int width = hitboxes[i].getWidth();
+            setRect(this.hitboxRects[ORIGINAL], i * RECT_SIZE, x, hitboxes[i].getY(), width,
+                    hitboxes[i].getHeight());
+            setRect(this.hitboxRects[REFLECTED], i * RECT_SIZE, 2 * xLine - x - width,
+                    hitboxes[i].getY(), width, hitboxes[i].getHeight());
+        }
+
+        this.bounds = new int[NUM_FACINGS][];
+        for (int facing = 0; facing < NUM_FACINGS; facing++) {
+            this.bounds[facing] = calculateBounds(this.hitboxRects[facing]);
+        }
     }
 
     /**
-     * This constructs an {@code AnimationFrame} object with preset {@code Hitbox}es.
-     * @param position The top-left coordinate of this {@code AnimationFrame}.
-     * @param pic The image to use for the sprite.
-     * @param hitboxes The hitboxes for the frame, with the position relative to the sprite.
+     * This method finds the smallest rectangle around a list of rectangles.
+     * @param rects The rectangles, one after another.
+     * @return The bounding rectangle, or an empty one at the anchor if there are no rectangles.
      */
-    public AnimationFrame(Vector position, BufferedImage pic, ArrayList<RelativeHitbox> hitboxes) {
-        this.position = position;
-        this.sprite = new Sprite(position, pic);
-        this.hitboxes = hitboxes;
-        this.setHitboxAnchorPos(this.position);
+    private static int[] calculateBounds(int[] rects) {
+        if (rects.length == 0) {
+            return new int[RECT_SIZE];
+        }
+
+        int left = Integer.MAX_VALUE;
+        int up = Integer.MAX_VALUE;
+        int right = Integer.MIN_VALUE;
+        int down = Integer.MIN_VALUE;
+        for (int i = 0; i < rects.length; i += RECT_SIZE) {
+            left = Math.min(left, rects[i]);
+            up = Math.min(up, rects[i + 1]);
+            right = Math.max(right, rects[i] + rects[i + 2]);
+            down = Math.max(down, rects[i + 1] + rects[i + 3]);
+        }
+
+        int[] bounds = new int[RECT_SIZE];
+        setRect(bounds, 0, left, up, right - left, down - up);
+        return bounds;
+    }
+
+    private static void setRect(int[] rects, int i, int x, int y, int width, int height) {
+        rects[i] = x;
+        rects[i + 1] = y;
+        rects[i + 2] = width;
+        rects[i + 3] = height;
+    }
+
+    public int getWidth() {
+        return this.images[ORIGINAL].getWidth();
+    }
+
+    public int getHeight() {
+        return this.images[ORIGINAL].getHeight();
+    }
+
+    public int getNumHitboxes() {
+        return this.numHitboxes;
     }
 
     /**
-     * This constructs an {@code AnimationFrame} object with a single {@code Hitbox}
-     * around the image.
-     * @param position The top-left coordinate of this {@code AnimationFrame}.
-     * @param pic The image to use for the sprite.
+     * This method draws the image onto a surface.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param position The anchor position of the frame.
+     * @param facing The way the frame faces, {@code ORIGINAL} or {@code REFLECTED}.
      */
-    public AnimationFrame(Vector position, BufferedImage pic) {
-        this.position = position;
-        this.sprite = new Sprite(position, pic);
-        this.hitboxes = new ArrayList<RelativeHitbox>();
+    public void draw(Graphics graphics, Vector position, int facing) {
+        this.draw(graphics, position.getX(), position.getY(), facing);
+    }
 
-        RelativeHitbox hitbox = new RelativeHitbox(this.position, Vector.VECTOR_ZERO.clone(),
-                this.sprite.getWidth(), this.sprite.getHeight());
-        this.hitboxes.add(hitbox);
+    /**
+     * This method draws the image onto a surface without needing a {@code Vector}
+     * for the anchor position.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param anchorX The anchor x-coordinate of the frame.
+     * @param anchorY The anchor y-coordinate of the frame.
+     * @param facing The way the frame faces, {@code ORIGINAL} or {@code REFLECTED}.
+     */
+    public void draw(Graphics graphics, double anchorX, double anchorY, int facing) {
+        graphics.drawImage(this.images[facing], (int) anchorX + this.imageXs[facing],
+                (int) anchorY, null);
     }
 
     /**
-     * This method draws the image onto the surface.
+     * This method draws the outlines of the hitboxes onto a surface.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param position The anchor position of the frame.
+     * @param facing The way the frame faces, {@code ORIGINAL} or {@code REFLECTED}.
      */
-    @Override
-    public void draw(Graphics graphics) {
-        this.sprite.draw(graphics);
+    public void drawDebugInfo(Graphics graphics, Vector position, int facing) {
+        this.drawDebugInfo(graphics, position.getX(), position.getY(), facing);
     }
-    
+
     /**
-     * This method draws the hitboxes of this {@code AnimationFrame} onto the surface.
+     * This method draws the outlines of the hitboxes onto a surface without needing
+     * a {@code Vector} for the anchor position.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param anchorX The anchor x-coordinate of the frame.
+     * @param anchorY The anchor y-coordinate of the frame.
+     * @param facing The way the frame faces, {@code ORIGINAL} or {@code REFLECTED}.
      */
-    @Override
-    public void drawDebugInfo(Graphics graphics) {
-        for (Hitbox hitbox: this.hitboxes) {
-            hitbox.draw(graphics);
+    public void drawDebugInfo(Graphics graphics, double anchorX, double anchorY, int facing) {
+        graphics.setColor(Const.RED);
+        ((Graphics2D) graphics).setStroke(new BasicStroke(1));
+        int[] rects = this.hitboxRects[facing];
+        for (int i = 0; i < rects.length; i += RECT_SIZE) {
+            graphics.drawRect((int) (anchorX + rects[i]), (int) (anchorY + rects[i + 1]),
+                    rects[i + 2], rects[i + 3]);
         }
     }
 
     /**
-     * This method determines whether a coordinate is within any of the hitboxes 
+     * This method determines whether a coordinate is within any of the hitboxes
      * of this {@code AnimationFrame}.
+     * @param position The anchor position of the frame.
+     * @param facing The way the frame faces, {@code ORIGINAL} or {@code REFLECTED}.
+     * @param x The x-coordinate to check.
+     * @param y The y-coordinate to check.
+     * @return {@code true} if the coordinate is inside a hitbox, {@code false} otherwise.
      */
-    @Override
-    public boolean contains(int x, int y) {
-        for (Hitbox hitbox: this.hitboxes) {
-            if (hitbox.contains(x, y)) {
+    public boolean contains(Vector position, int facing, int x, int y) {
+        return this.contains(position.getX(), position.getY(), facing, x, y);
+    }
+
+    /**
+     * This method determines whether a coordinate is within any of the hitboxes
+     * of this {@code AnimationFrame} without needing a {@code Vector} for the
+     * anchor position.
+     * @param anchorX The anchor x-coordinate of the frame.
+     * @param anchorY The anchor y-coordinate of the frame.
+     * @param facing The way the frame faces, {@code ORIGINAL} or {@code REFLECTED}.
+     * @param x The x-coordinate to check.
+     * @param y The y-coordinate to check.
+     * @return {@code true} if the coordinate is inside a hitbox, {@code false} otherwise.
+     */
+    public boolean contains(double anchorX, double anchorY, int facing, int x, int y) {
+        if (!this.checkBoundsOverlap(anchorX, anchorY, facing, x, y, 0, 0)) {
+            return false;
+        }
+
+        int[] rects = this.hitboxRects[facing];
+        for (int i = 0; i < rects.length; i += RECT_SIZE) {
+            int left = (int) (anchorX + rects[i]);
+            int up = (int) (anchorY + rects[i + 1]);
+            if (left <= x && x <= left + rects[i + 2] && up <= y && y <= up + rects[i + 3]) {
                 return true;
             }
         }
@@ -91,26 +209,39 @@ public class AnimationFrame implements Drawable, Debuggable, Collidable {
     /**
      * This method determines whether a hitbox intersects with any of the hitboxes
      * of this {@code AnimationFrame}.
+     * @param position The anchor position of the frame.
+     * @param facing The way the frame faces, {@code ORIGINAL} or {@code REFLECTED}.
+     * @param other The hitbox to check.
+     * @return {@code true} if they do intersect, {@code false} otherwise.
      */
-    @Override
-    public boolean intersects(Hitbox other) {
-        for (Hitbox hitbox: this.hitboxes) {
-            if (hitbox.intersects(other)) {
-                return true;
-            }
-        }
-        return false;
+    public boolean intersects(Vector position, int facing, Hitbox other) {
+        return this.intersects(position.getX(), position.getY(), facing, other);
     }
 
     /**
-     * This method determines whether another {@code AnimationFrame} intersects with
-     * any of the hitboxes of this {@code AnimationFrame}.
-     * @param otherFrame The other {@code AnimationFrame} object to check.
+     * This method determines whether a hitbox intersects with any of the hitboxes
+     * of this {@code AnimationFrame} without needing a {@code Vector} for the
+     * anchor position.
+     * @param anchorX The anchor x-coordinate of the frame.
+     * @param anchorY The anchor y-coordinate of the frame.
+     * @param facing The way the frame faces, {@code ORIGINAL} or {@code REFLECTED}.
+     * @param other The hitbox to check.
      * @return {@code true} if they do intersect, {@code false} otherwise.
      */
-    public boolean intersects(AnimationFrame otherFrame) {
-        for (Hitbox hitbox: this.hitboxes) {
-            if (otherFrame.intersects(hitbox)) {
+    public boolean intersects(double anchorX, double anchorY, int facing, Hitbox other) {
+        int otherLeft = other.getX();
+        int otherUp = other.getY();
+        int otherWidth = other.getWidth();
+        int otherHeight = other.getHeight();
+        if (!this.checkBoundsOverlap(anchorX, anchorY, facing, otherLeft, otherUp, otherWidth,
+                otherHeight)) {
+            return false;
+        }
+
+        int[] rects = this.hitboxRects[facing];
+        for (int i = 0; i < rects.length; i += RECT_SIZE) {
+            if (checkOverlap((int) (anchorX + rects[i]), (int) (anchorY + rects[i + 1]),
+                    rects[i + 2], rects[i + 3], otherLeft, otherUp, otherWidth, otherHeight)) {
                 return true;
             }
         }
@@ -118,46 +249,95 @@ public class AnimationFrame implements Drawable, Debuggable, Collidable {
     }
 
     /**
-     * This method moves the position of the sprites and the hitboxes to the
-     * new position. The hiboxes maintain their relative positions to the position
-     * of the anchor/animation frame position.
-     * @param newPos The new position.
+     * This method determines whether another {@code AnimationFrame} intersects with
+     * any of the hitboxes of this {@code AnimationFrame}.
+     * @param position The anchor position of this frame.
+     * @param facing The way this frame faces.
+     * @param otherFrame The other {@code AnimationFrame} object to check.
+     * @param otherPosition The anchor position of the other frame.
+     * @param otherFacing The way the other frame faces.
+     * @return {@code true} if they do intersect, {@code false} otherwise.
      */
-    public void setPos(Vector newPos) {
-        this.sprite.setPos(newPos);
-        this.setHitboxAnchorPos(newPos);
-        this.position = newPos;
+    public boolean intersects(Vector position, int facing, AnimationFrame otherFrame,
+            Vector otherPosition, int otherFacing) {
+        return this.intersects(position.getX(), position.getY(), facing, otherFrame,
+                otherPosition.getX(), otherPosition.getY(), otherFacing);
     }
 
     /**
-     * This method sets the hitboxes of this {@code AnimationFrame}.
-     * @param hitboxes An {@code ArrayList} containing relative hitboxes.
+     * This method determines whether another {@code AnimationFrame} intersects with
+     * any of the hitboxes of this {@code AnimationFrame} without needing a
+     * {@code Vector} for either anchor position.
+     * @param anchorX The anchor x-coordinate of this frame.
+     * @param anchorY The anchor y-coordinate of this frame.
+     * @param facing The way this frame faces.
+     * @param otherFrame The other {@code AnimationFrame} object to check.
+     * @param otherAnchorX The anchor x-coordinate of the other frame.
+     * @param otherAnchorY The anchor y-coordinate of the other frame.
+     * @param otherFacing The way the other frame faces.
+     * @return {@code true} if they do intersect, {@code false} otherwise.
      */
-    public void setHitboxes(ArrayList<RelativeHitbox> hitboxes) {
-        this.hitboxes = hitboxes;
+    public boolean intersects(double anchorX, double anchorY, int facing, AnimationFrame otherFrame,
+            double otherAnchorX, double otherAnchorY, int otherFacing) {
+        // Skip the hitboxes when the frames are not near each other.
+        int[] otherBounds = otherFrame.bounds[otherFacing];
+        if (otherFrame.numHitboxes == 0 || !this.checkBoundsOverlap(anchorX, anchorY, facing,
+                (int) (otherAnchorX + otherBounds[0]), (int) (otherAnchorY + otherBounds[1]),
+                otherBounds[2], otherBounds[3])) {
+            return false;
+        }
+
+        int[] rects = this.hitboxRects[facing];
+        int[] otherRects = otherFrame.hitboxRects[otherFacing];
+        for (int i = 0; i < rects.length; i += RECT_SIZE) {
+            int left = (int) (anchorX + rects[i]);
+            int up = (int) (anchorY + rects[i + 1]);
+            int width = rects[i + 2];
+            int height = rects[i + 3];
+            for (int j = 0; j < otherRects.length; j += RECT_SIZE) {
+                if (checkOverlap(left, up, width, height, (int) (otherAnchorX + otherRects[j]),
+                        (int) (otherAnchorY + otherRects[j + 1]), otherRects[j + 2],
+                        otherRects[j + 3])) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 
     /**
-     * This method sets the anchor position of the all the relative hitboxes.
-     * The relative positions of the hitboxes are maintained. 
-     * @param newAnchorPos The new anchor position of the hitboxes.
-     * @see RelativeHitbox
+     * This method checks if a rectangle overlaps the bounds around all the hitboxes
+     * of this {@code AnimationFrame}. A rectangle that overlaps none of the hitboxes
+     * can still overlap the bounds, but never the other way around.
+     * @param anchorX The anchor x-coordinate of the frame.
+     * @param anchorY The anchor y-coordinate of the frame.
+     * @param facing The way the frame faces.
+     * @param left The top-left x-coordinate of the rectangle.
+     * @param up The top-left y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @return {@code true} if the rectangle overlaps the bounds, {@code false} otherwise.
      */
-    private void setHitboxAnchorPos(Vector newAnchorPos) {
-        for (RelativeHitbox hitbox: this.hitboxes) {
-            hitbox.setAnchorPos(newAnchorPos);
+    private boolean checkBoundsOverlap(double anchorX, double anchorY, int facing, int left,
+            int up, int width, int height) {
+        if (this.numHitboxes == 0) {
+            return false;
         }
+
+        int[] frameBounds = this.bounds[facing];
+        return checkOverlap((int) (anchorX + frameBounds[0]), (int) (anchorY + frameBounds[1]),
+                frameBounds[2], frameBounds[3], left, up, width, height);
     }
 
     /**
-     * This method reflects the sprite and hitboxes of this {@code AnimationFrame}
-     * over a vertical line.
-     * @param xLine The line to reflect this {@code AnimationFrame} over.
+     * This method checks if two rectangles overlap, including their edges, the
+     * same way hitboxes do.
+     * @return {@code true} if the rectangles overlap, {@code false} otherwise.
+     * @see Hitbox#intersects(Hitbox)
      */
-    public void reflectHorizontally(int xLine) {
-        this.sprite.reflectHorizontally(xLine);
-        for (RelativeHitbox hitbox: this.hitboxes) {
-            hitbox.reflectHorizontally(xLine);
-        }
+    private static boolean checkOverlap(int left1, int up1, int width1, int height1,
+            int left2, int up2, int width2, int height2) {
+        return left1 <= left2 + width2 && left2 <= left1 + width1
+                && up1 <= up2 + height2 && up2 <= up1 + height1;
     }
 }
@@ -0,0 +1,83 @@
+import java.awt.geom.AffineTransform;
+
+/**
+ * This class represents the visible area of the game world. It is used to move
+ * the world onto the screen and to skip drawing anything that is off screen.
+ */
+public class Camera {
+    private int x;
+    private int y;
+    private int width;
+    private int height;
+
+    /**
+     * This constructs a {@code Camera} object at {@code (0, 0)} with the size of
+     * the visible area.
+     * @param width The width of the visible area.
+     * @param height The height of the visible area.
+     */
+    public Camera(int width, int height) {
+        this.x = 0;
+        this.y = 0;
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * This method moves this {@code Camera} so a coordinate is in the center of
+     * the visible area.
+     * @param centerX The x-coordinate to center on.
+     * @param centerY The y-coordinate to center on.
+     */
+    public void centerOn(int centerX, int centerY) {
+        this.x = centerX - this.width / 2;
+        this.y = centerY - this.height / 2;
+    }
+
+    public int getX() {
+        return this.x;
+    }
+
+    public int getY() {
+        return this.y;
+    }
+
+    public int getWidth() {
+        return this.width;
+    }
+
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * This method creates the transform that moves the world so the visible
+     * area starts at the top-left of the screen.
+     * @return A new {@code AffineTransform} object.
+     */
+    public AffineTransform getTransform() {
+        return AffineTransform.getTranslateInstance(-this.x, -this.y);
+    }
+
+    /**
+     * This method checks whether any part of a rectangle is in the visible area.
+     * @param x The top-left x-coordinate of the rectangle.
+     * @param y The top-left y-coordinate of the rectangle.
+     * @param width The width of the rectangle.
+     * @param height The height of the rectangle.
+     * @return {@code true} if it is visible, {@code false} otherwise.
+     */
+    public boolean checkVisible(int x, int y, int width, int height) {
+        return x < this.x + this.width && this.x < x + width
+                && y < this.y + this.height && this.y < y + height;
+    }
+
+    /**
+     * This method returns a string representation of this {@code Camera} in the
+     * format "Camera (x, y)".
+     */
+    @Override
+    public String toString() {
+        return "Camera (" + this.x + ", " + this.y + ")";
+    }
+}
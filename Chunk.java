@@ -1,7 +1,11 @@
 import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
 
 import java.io.FileReader;
 import java.io.BufferedReader;
+import java.nio.ByteBuffer;
 
 import java.io.IOException;
 import java.io.FileNotFoundException;
@@ -12,8 +16,11 @@ import java.util.ArrayList;
  * This class represents a small part of the {@code Map}. A {@code Chunk} consists
  * of a 2-dimensional grid of tiles. This class allows for easier organization and
  * collision detection. A {@code Chunk} can be read from a custom chunk file.
+ * <p>Tiles are stored compactly as {@code TileType} ids. {@code Tile} objects are
+ * only created when they are asked for.</p>
  * @see Map
  * @see Tile
+ * @see TileType
  */
 public class Chunk implements Drawable, Debuggable, Collidable {
     // Number of tiles horizontally and vertically. (Eg, 16x16)
@@ -21,9 +28,15 @@ public class Chunk implements Drawable, Debuggable, Collidable {
 
     private String fileName;
     private Hitbox hitbox;
-    private Tile[][] tiles;
-    private ArrayList<Tile> solidTiles;
+    // The tile type id of each tile, row by row.
+    private byte[] tiles;
+    // One bit per tile that is set if the tile is solid. Each long holds 4 rows.
+    private long[] solidMask;
     private Vector mapPosition;
+    // Whether this chunk is within render distance of the camera.
+    private boolean active;
+    // All the tiles drawn onto one image, only kept while this chunk is active.
+    private BufferedImage tileImage;
 
     /**
      * This constructs a {@code Chunk} object without loading the tiles or position.
@@ -31,8 +44,11 @@ public class Chunk implements Drawable, Debuggable, Collidable {
     public Chunk(String chunkFileName) {
         this.fileName = chunkFileName;
         this.hitbox = null;
-        this.tiles = new Tile[LENGTH][LENGTH];
+        this.tiles = new byte[LENGTH * LENGTH];
+        this.solidMask = new long[LENGTH * LENGTH / Long.SIZE];
         this.mapPosition = null;
+        this.active = false;
+        this.tileImage = null;
     }
 
     /**
@@ -68,19 +84,17 @@ public class Chunk implements Drawable, Debuggable, Collidable {
 
         // Load chunk.
         try {
-            this.mapPosition = new Vector(Integer.parseInt(input.readLine()), 
-                    Integer.parseInt(input.readLine()));
-            this.hitbox = new Hitbox(this.getPos(), LENGTH * Tile.LENGTH, LENGTH * Tile.LENGTH);
-            this.hitbox.setColor(Const.GREEN);
-            Vector offset = Map.calculateRealPosition(this.mapPosition);
+            this.setMapPos(Integer.parseInt(input.readLine()), Integer.parseInt(input.readLine()));
             
             for (int y = 0; y < LENGTH; y++) {
                 String line = input.readLine();
                 for (int x = 0; x < LENGTH; x++) {
-                    Vector tilePosition = new Vector(offset.getX() + x * Tile.LENGTH,
-                            offset.getY() + y * Tile.LENGTH);
-                    char tileType = line.charAt(x);
-                    this.tiles[y][x] = new Tile(tilePosition, tileType);
+                    TileType tileType = TileType.get(line.charAt(x));
+                    if (tileType == null) {
+                        System.out.println("Error: Unknown tile type. [" + line.charAt(x) + "]");
+                        tileType = TileType.SAND;
+                    }
+                    this.setTile(x, y, tileType);
                 }
             }
         } catch (IOException ex) {
@@ -95,6 +109,59 @@ public class Chunk implements Drawable, Debuggable, Collidable {
         }
     }
 
+    /**
+     * This method loads the tiles of this {@code Chunk} from a map pack. The tiles
+     * are read straight from the pack, one tile type id per byte, row by row.
+     * @param pack The contents of the map pack.
+     * @param mapX The x map position of this {@code Chunk}.
+     * @param mapY The y map position of this {@code Chunk}.
+     * @param tileOffset The position in the pack of the first tile.
+     * @see Map#loadFromPack()
+     */
+    public void loadFromPack(ByteBuffer pack, int mapX, int mapY, int tileOffset) {
+        this.setMapPos(mapX, mapY);
+
+        for (int y = 0; y < LENGTH; y++) {
+            for (int x = 0; x < LENGTH; x++) {
+                byte id = pack.get(tileOffset + y * LENGTH + x);
+                if (!TileType.checkValidId(id)) {
+                    System.out.println("Error: Unknown tile type id. [" + id + "]");
+                    id = TileType.SAND_ID;
+                }
+                this.setTile(x, y, TileType.get(id));
+            }
+        }
+    }
+
+    /**
+     * This method generates the tiles of this {@code Chunk}. The same generator
+     * always generates the same tiles for a map position.
+     * @param generator The generator that decides each tile.
+     * @param mapX The x map position of this {@code Chunk}.
+     * @param mapY The y map position of this {@code Chunk}.
+     * @see ChunkGenerator
+     */
+    public void loadFromGenerator(ChunkGenerator generator, int mapX, int mapY) {
+        this.setMapPos(mapX, mapY);
+
+        for (int y = 0; y < LENGTH; y++) {
+            for (int x = 0; x < LENGTH; x++) {
+                this.setTile(x, y, generator.getTileType(mapX * LENGTH + x, mapY * LENGTH + y));
+            }
+        }
+    }
+
+    /**
+     * This method sets the map position of this {@code Chunk} and creates its hitbox.
+     * @param mapX The x map position.
+     * @param mapY The y map position.
+     */
+    private void setMapPos(int mapX, int mapY) {
+        this.mapPosition = new Vector(mapX, mapY);
+        this.hitbox = new Hitbox(this.getPos(), LENGTH * Tile.LENGTH, LENGTH * Tile.LENGTH);
+        this.hitbox.setColor(Const.GREEN);
+    }
+
     public int getX() {
         return (int) this.mapPosition.getX() * LENGTH;
     }
@@ -103,6 +170,93 @@ public class Chunk implements Drawable, Debuggable, Collidable {
         return (int) this.mapPosition.getY() * LENGTH;
     }
 
+    /**
+     * This method checks if the position of this {@code Chunk} has been loaded.
+     * @return {@code true} if it has been loaded, {@code false} otherwise.
+     */
+    public boolean checkLoaded() {
+        return this.mapPosition != null;
+    }
+
+    public int getRealX() {
+        return this.getMapX() * LENGTH * Tile.LENGTH;
+    }
+
+    public int getRealY() {
+        return this.getMapY() * LENGTH * Tile.LENGTH;
+    }
+
+    public int getMapX() {
+        return (int) this.mapPosition.getX();
+    }
+
+    public int getMapY() {
+        return (int) this.mapPosition.getY();
+    }
+
+    /**
+     * This method checks if this {@code Chunk} is within render distance of the camera.
+     * @return {@code true} if it is active, {@code false} otherwise.
+     */
+    public boolean checkActive() {
+        return this.active;
+    }
+
+    /**
+     * This method sets whether this {@code Chunk} is within render distance. When
+     * it becomes unactive, its tile image is released to save memory.
+     * @param isActive Whether this {@code Chunk} is active.
+     */
+    public void setActive(boolean isActive) {
+        this.active = isActive;
+        if (!isActive) {
+            this.tileImage = null;
+        }
+    }
+
+    /**
+     * This method replaces a tile in this {@code Chunk} with a new tile type.
+     * @param tileX The column of the tile in this {@code Chunk}.
+     * @param tileY The row of the tile in this {@code Chunk}.
+     * @param tileType The new type of the tile.
+     * @see TileType
+     */
+    public void setTile(int tileX, int tileY, TileType tileType) {
+        int index = tileY * LENGTH + tileX;
+        this.tiles[index] = tileType.getId();
+        if (tileType.checkSolid()) {
+            this.solidMask[index / Long.SIZE] |= 1L << (index % Long.SIZE);
+        } else {
+            this.solidMask[index / Long.SIZE] &= ~(1L << (index % Long.SIZE));
+        }
+
+        // The tile image needs to be drawn again.
+        this.tileImage = null;
+    }
+
+    /**
+     * This method gets the type of a tile in this {@code Chunk}.
+     * @param tileX The column of the tile in this {@code Chunk}.
+     * @param tileY The row of the tile in this {@code Chunk}.
+     * @return The {@code TileType} of the tile.
+     */
+    public TileType getTileType(int tileX, int tileY) {
+        return TileType.get(this.tiles[tileY * LENGTH + tileX]);
+    }
+
+    /**
+     * This method creates a {@code Tile} object for a tile in this {@code Chunk},
+     * with its real position and hitbox.
+     * @param tileX The column of the tile in this {@code Chunk}.
+     * @param tileY The row of the tile in this {@code Chunk}.
+     * @return A new {@code Tile} object.
+     */
+    public Tile getTile(int tileX, int tileY) {
+        Vector tilePosition = new Vector(this.getRealX() + tileX * Tile.LENGTH,
+                this.getRealY() + tileY * Tile.LENGTH);
+        return new Tile(tilePosition, this.getTileType(tileX, tileY).getSymbol());
+    }
+
     /**
      * This method creates a copy of the real position of this {@code Chunk}, 
      * as opposed to the map position. 
@@ -124,40 +278,75 @@ public class Chunk implements Drawable, Debuggable, Collidable {
     }
 
     /**
-     * This method gets all the solid {@code Tile} objects in this {@code Chunk}.
+     * This method creates all the solid {@code Tile} objects in this {@code Chunk}.
      * @return An {@code ArrayList} object containg all the solid {@code Tile}s.
      */
     public ArrayList<Tile> getSolidTiles() {
-        // Check if the solid tiles have already been calculated.
-        if (this.solidTiles != null) {
-            return this.solidTiles;
-        }
-
-        this.solidTiles = new ArrayList<Tile>();
+        ArrayList<Tile> solidTiles = new ArrayList<Tile>();
 
         // Check if each tile is solid or not.
         for (int y = 0; y < LENGTH; y++) {
             for (int x = 0; x < LENGTH; x++) {
-                if (this.tiles[y][x].checkSolid()) {
-                    this.solidTiles.add(this.tiles[y][x]);
+                if (this.getTileType(x, y).checkSolid()) {
+                    solidTiles.add(this.getTile(x, y));
                 }
             }
         }
 
-        return this.solidTiles;
+        return solidTiles;
+    }
+
+    /**
+     * This method checks whether a tile in this {@code Chunk} is solid.
+     * @param tileX The column of the tile in this {@code Chunk}.
+     * @param tileY The row of the tile in this {@code Chunk}.
+     * @return {@code true} if it is solid, {@code false} otherwise.
+     */
+    public boolean checkSolid(int tileX, int tileY) {
+        int index = tileY * LENGTH + tileX;
+        return (this.solidMask[index / Long.SIZE] & (1L << (index % Long.SIZE))) != 0;
     }
 
     /**
      * This method determines whether a hitbox intersects with a solid tile in this
-     * {@code Chunk}.
+     * {@code Chunk}. Only the tiles the hitbox covers are checked.
      * @param other The hitbox to check.
      * @return {@code true} if they intersect, {@code false} otherwise.
      */
     public boolean intersectsWithSolid(Hitbox other) {
-        this.getSolidTiles();
+        int tileOffsetX = this.getMapX() * LENGTH;
+        int tileOffsetY = this.getMapY() * LENGTH;
+
+        // Find the tiles in this chunk covered by the hitbox.
+        int firstColumn = Math.max(0, Tile.getFirstTileTouching(other.getX()) - tileOffsetX);
+        int lastColumn = Math.min(LENGTH - 1,
+                Tile.getLastTileTouching(other.getX() + other.getWidth()) - tileOffsetX);
+        int firstRow = Math.max(0, Tile.getFirstTileTouching(other.getY()) - tileOffsetY);
+        int lastRow = Math.min(LENGTH - 1,
+                Tile.getLastTileTouching(other.getY() + other.getHeight()) - tileOffsetY);
+
+        return this.intersectsWithSolid(firstColumn, firstRow, lastColumn, lastRow);
+    }
+
+    /**
+     * This method determines whether any tile in a range of tiles in this
+     * {@code Chunk} is solid. Each row is checked at once using the solid bits.
+     * @param firstColumn The first column to check.
+     * @param firstRow The first row to check.
+     * @param lastColumn The last column to check.
+     * @param lastRow The last row to check.
+     * @return {@code true} if any tile in the range is solid, {@code false} otherwise.
+     */
+    public boolean intersectsWithSolid(int firstColumn, int firstRow, int lastColumn, int lastRow) {
+        if (firstColumn > lastColumn) {
+            return false;
+        }
 
-        for (Tile tile: this.solidTiles) {
-            if (tile.intersects(other)) {
+        long columnBits = ((1L << (lastColumn - firstColumn + 1)) - 1) << firstColumn;
+        for (int y = firstRow; y <= lastRow; y++) {
+            int index = y * LENGTH;
+            long rowBits = this.solidMask[index / Long.SIZE] >>> (index % Long.SIZE);
+            if ((rowBits & columnBits) != 0) {
                 return true;
             }
         }
@@ -181,15 +370,71 @@ public class Chunk implements Drawable, Debuggable, Collidable {
     }
     
     /**
-     * This method draws the tiles onto a surface.
+     * This method draws the tiles onto a surface. The tiles are drawn onto a 
+     * single image the first time, which is then reused until a tile changes.
      */
     @Override
     public void draw(Graphics graphics) {
-        for (Tile[] tileRow: this.tiles) {
-            for (Tile tile: tileRow) {
-                tile.draw(graphics);
+        if (this.tileImage == null) {
+            this.tileImage = this.createTileImage();
+        }
+
+        Vector position = this.getPos();
+        graphics.drawImage(this.tileImage, (int) position.getX(), (int) position.getY(), null);
+    }
+
+    /**
+     * This method draws the tiles of this {@code Chunk} that are visible to a
+     * {@code Camera}. Only the rows and columns of tiles in view are drawn.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param camera The {@code Camera} showing the visible area.
+     */
+    public void draw(Graphics graphics, Camera camera) {
+        Vector position = this.getPos();
+        int chunkX = (int) position.getX();
+        int chunkY = (int) position.getY();
+
+        // Find the range of tiles in view.
+        int firstColumn = Math.max(0, Math.floorDiv(camera.getX() - chunkX, Tile.LENGTH));
+        int lastColumn = Math.min(LENGTH - 1, 
+                Math.floorDiv(camera.getX() + camera.getWidth() - 1 - chunkX, Tile.LENGTH));
+        int firstRow = Math.max(0, Math.floorDiv(camera.getY() - chunkY, Tile.LENGTH));
+        int lastRow = Math.min(LENGTH - 1, 
+                Math.floorDiv(camera.getY() + camera.getHeight() - 1 - chunkY, Tile.LENGTH));
+        if (firstColumn > lastColumn || firstRow > lastRow) {
+            return;
+        }
+
+        if (this.tileImage == null) {
+            this.tileImage = this.createTileImage();
+        }
+
+        // Draw only the part of the tile image in view.
+        int left = firstColumn * Tile.LENGTH;
+        int top = firstRow * Tile.LENGTH;
+        int right = (lastColumn + 1) * Tile.LENGTH;
+        int bottom = (lastRow + 1) * Tile.LENGTH;
+        graphics.drawImage(this.tileImage, chunkX + left, chunkY + top, chunkX + right, 
+                chunkY + bottom, left, top, right, bottom, null);
+    }
+
+    /**
+     * This method draws all the tiles of this {@code Chunk} onto a new image.
+     * @return An image of the tiles with the top-left tile at {@code (0, 0)}.
+     */
+    private BufferedImage createTileImage() {
+        BufferedImage image = Sprite.createCompatibleImage(LENGTH * Tile.LENGTH, 
+                LENGTH * Tile.LENGTH, Transparency.OPAQUE);
+        Graphics2D graphics = image.createGraphics();
+
+        for (int y = 0; y < LENGTH; y++) {
+            for (int x = 0; x < LENGTH; x++) {
+                this.getTileType(x, y).getSprite().draw(graphics, x * Tile.LENGTH, y * Tile.LENGTH);
             }
         }
+
+        graphics.dispose();
+        return image;
     }
 
     /**
@@ -197,12 +442,8 @@ public class Chunk implements Drawable, Debuggable, Collidable {
      */
     @Override
     public void drawDebugInfo(Graphics graphics) {
-        for (Tile[] tileRow: this.tiles) {
-            for (Tile tile: tileRow) {
-                if (tile.checkSolid()) {
-                    tile.drawDebugInfo(graphics);
-                }
-            }
+        for (Tile tile: this.getSolidTiles()) {
+            tile.drawDebugInfo(graphics);
         }
         this.hitbox.drawDebugInfo(graphics);
     }
@@ -0,0 +1,119 @@
+/**
+ * This class generates the tiles of chunks that are not in the map files. The
+ * terrain is sand crossed by thin winding rock walls with gaps to walk through,
+ * made from value noise over the tile coordinates. Every tile only depends on
+ * the seed and its position, so the same seed always generates the same chunk
+ * and walls line up across chunk borders. Generated chunks never need to be
+ * stored; they can be dropped and generated again.
+ * <p>A {@code ChunkGenerator} never changes once it is created, so it can be used
+ * by several threads at once.</p>
+ * @see Chunk#loadFromGenerator
+ * @see Map#setGenerator(ChunkGenerator)
+ */
+public class ChunkGenerator {
+    // The size in tiles of the noise cells. Larger cells make longer walls.
+    private static final int WALL_CELL_SIZE = 8;
+    private static final int GAP_CELL_SIZE = 4;
+    // The fraction of walls that are left open.
+    private static final double GAP_AMOUNT = 0.35;
+
+    // The noise layers, so layers do not repeat each other.
+    private static final int WALL_LAYER = 0;
+    private static final int GAP_LAYER = 1;
+
+    private long seed;
+
+    /**
+     * This constructs a {@code ChunkGenerator} object.
+     * @param seed The seed that decides the terrain.
+     */
+    public ChunkGenerator(long seed) {
+        this.seed = seed;
+    }
+
+    public long getSeed() {
+        return this.seed;
+    }
+
+    /**
+     * This method decides the type of a tile. Walls run along the edges of the
+     * areas where the wall noise is high: a tile is rock if it is inside such an
+     * area and a tile beside it is not. This keeps walls thin and connected. Parts
+     * of the walls are left open where the gap noise is low.
+     * @param tileX The column of the tile, counting from the origin.
+     * @param tileY The row of the tile, counting from the origin.
+     * @return The {@code TileType} of the tile.
+     */
+    public TileType getTileType(int tileX, int tileY) {
+        if (this.checkHigh(tileX, tileY) && (!this.checkHigh(tileX - 1, tileY)
+                || !this.checkHigh(tileX + 1, tileY) || !this.checkHigh(tileX, tileY - 1)
+                || !this.checkHigh(tileX, tileY + 1))
+                && this.getNoise(tileX, tileY, GAP_CELL_SIZE, GAP_LAYER) > GAP_AMOUNT) {
+            return TileType.ROCK;
+        }
+        return TileType.SAND;
+    }
+
+    /**
+     * This method checks if the wall noise at a tile is in the top half of its range.
+     * @param tileX The column of the tile.
+     * @param tileY The row of the tile.
+     * @return {@code true} if the noise is high, {@code false} otherwise.
+     */
+    private boolean checkHigh(int tileX, int tileY) {
+        return this.getNoise(tileX, tileY, WALL_CELL_SIZE, WALL_LAYER) >= 0.5;
+    }
+
+    /**
+     * This method calculates smooth value noise at a tile. Each corner of the
+     * grid of cells gets a random value, and the values are blended across the cell.
+     * @param tileX The column of the tile.
+     * @param tileY The row of the tile.
+     * @param cellSize The size of the cells in tiles.
+     * @param layer The layer of noise, so layers with the same cell size differ.
+     * @return The noise, between {@code 0} and {@code 1}.
+     */
+    private double getNoise(int tileX, int tileY, int cellSize, int layer) {
+        int cellX = Math.floorDiv(tileX, cellSize);
+        int cellY = Math.floorDiv(tileY, cellSize);
+        double fractionX = smooth((double) Math.floorMod(tileX, cellSize) / cellSize);
+        double fractionY = smooth((double) Math.floorMod(tileY, cellSize) / cellSize);
+
+        double top = lerp(this.getCornerValue(cellX, cellY, layer),
+                this.getCornerValue(cellX + 1, cellY, layer), fractionX);
+        double bottom = lerp(this.getCornerValue(cellX, cellY + 1, layer),
+                this.getCornerValue(cellX + 1, cellY + 1, layer), fractionX);
+        return lerp(top, bottom, fractionY);
+    }
+
+    /**
+     * This method gets the random value at a corner of the grid of cells. It is
+     * a hash of the seed and the corner, so it is the same every time.
+     * @param cornerX The column of the corner.
+     * @param cornerY The row of the corner.
+     * @param layer The layer of noise.
+     * @return A value between {@code 0} and {@code 1}.
+     */
+    private double getCornerValue(int cornerX, int cornerY, int layer) {
+        long hash = this.seed + ChunkIndex.toKey(cornerX, cornerY) * 0x9E3779B97F4A7C15L
+                + layer * 0xD1B54A32D192ED03L;
+        hash = (hash ^ (hash >>> 30)) * 0xBF58476D1CE4E5B9L;
+        hash = (hash ^ (hash >>> 27)) * 0x94D049BB133111EBL;
+        hash = hash ^ (hash >>> 31);
+        return (hash >>> 11) * 0x1.0p-53;
+    }
+
+    /**
+     * This method eases a fraction so the noise has no sharp corners at the
+     * edges of cells.
+     * @param fraction A value between {@code 0} and {@code 1}.
+     * @return The eased value.
+     */
+    private static double smooth(double fraction) {
+        return fraction * fraction * (3 - 2 * fraction);
+    }
+
+    private static double lerp(double start, double end, double fraction) {
+        return start + (end - start) * fraction;
+    }
+}
@@ -0,0 +1,175 @@
+import java.util.ArrayList;
+
+/**
+ * This class stores {@code Chunk}s by their map position so a chunk can be found
+ * in constant time. It is a hash table keyed by the map x and y-coordinates packed
+ * into one {@code long}, using open addressing with linear probing so no objects
+ * are created when looking up or adding chunks.
+ * @see Chunk
+ * @see Map
+ */
+public class ChunkIndex {
+    private static final int DEFAULT_CAPACITY = 64;
+    // The table is grown once it is more than this fraction full.
+    private static final double MAX_LOAD = 0.5;
+
+    private long[] keys;
+    private Chunk[] chunks;
+    private int size;
+
+    /**
+     * This constructs an empty {@code ChunkIndex} object.
+     */
+    public ChunkIndex() {
+        this.keys = new long[DEFAULT_CAPACITY];
+        this.chunks = new Chunk[DEFAULT_CAPACITY];
+        this.size = 0;
+    }
+
+    /**
+     * This method gets the {@code Chunk} at a map position.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return The {@code Chunk} at the position, {@code null} if there is none.
+     */
+    public Chunk get(int mapX, int mapY) {
+        long key = toKey(mapX, mapY);
+        int mask = this.keys.length - 1;
+
+        for (int i = hash(key) & mask; this.chunks[i] != null; i = (i + 1) & mask) {
+            if (this.keys[i] == key) {
+                return this.chunks[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method adds a {@code Chunk} at its map position. If there is already
+     * a {@code Chunk} at that position, it gets replaced.
+     * @param chunk The {@code Chunk} to add.
+     * @return The {@code Chunk} that was replaced, {@code null} if there was none.
+     */
+    public Chunk put(Chunk chunk) {
+        if (this.size + 1 > this.keys.length * MAX_LOAD) {
+            this.resize(this.keys.length * 2);
+        }
+
+        long key = toKey(chunk.getMapX(), chunk.getMapY());
+        int mask = this.keys.length - 1;
+
+        int i = hash(key) & mask;
+        while (this.chunks[i] != null) {
+            if (this.keys[i] == key) {
+                Chunk prevChunk = this.chunks[i];
+                this.chunks[i] = chunk;
+                return prevChunk;
+            }
+            i = (i + 1) & mask;
+        }
+
+        this.keys[i] = key;
+        this.chunks[i] = chunk;
+        this.size++;
+        return null;
+    }
+
+    /**
+     * This method removes the {@code Chunk} at a map position. The chunks after it
+     * in the same run of the table are shifted back so lookups still find them.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return The {@code Chunk} that was removed, {@code null} if there was none.
+     */
+    public Chunk remove(int mapX, int mapY) {
+        long key = toKey(mapX, mapY);
+        int mask = this.keys.length - 1;
+
+        int i = hash(key) & mask;
+        while (this.chunks[i] != null && this.keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (this.chunks[i] == null) {
+            return null;
+        }
+        Chunk removedChunk = this.chunks[i];
+
+        // Fill the gap with a later chunk that cannot be found past it.
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            if (this.chunks[j] == null) {
+                break;
+            }
+
+            int home = hash(this.keys[j]) & mask;
+            boolean reachable = (i < j) ? (i < home && home <= j) : (i < home || home <= j);
+            if (!reachable) {
+                this.keys[i] = this.keys[j];
+                this.chunks[i] = this.chunks[j];
+                i = j;
+            }
+        }
+
+        this.chunks[i] = null;
+        this.size--;
+        return removedChunk;
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    /**
+     * This method creates a list of every {@code Chunk} in this {@code ChunkIndex}.
+     * @return An {@code ArrayList} object containing all the chunks in no particular order.
+     */
+    public ArrayList<Chunk> getChunks() {
+        ArrayList<Chunk> chunkList = new ArrayList<Chunk>(this.size);
+        for (Chunk chunk: this.chunks) {
+            if (chunk != null) {
+                chunkList.add(chunk);
+            }
+        }
+        return chunkList;
+    }
+
+    /**
+     * This method moves every {@code Chunk} into a table of a new size.
+     * @param newCapacity The new table size. It must be a power of two.
+     */
+    private void resize(int newCapacity) {
+        Chunk[] oldChunks = this.chunks;
+
+        this.keys = new long[newCapacity];
+        this.chunks = new Chunk[newCapacity];
+        this.size = 0;
+
+        for (Chunk chunk: oldChunks) {
+            if (chunk != null) {
+                this.put(chunk);
+            }
+        }
+    }
+
+    /**
+     * This method packs a map position into a single key.
+     * @param mapX The map x-coordinate.
+     * @param mapY The map y-coordinate.
+     * @return The key with the x-coordinate in the high bits and y in the low bits.
+     */
+    public static long toKey(int mapX, int mapY) {
+        return ((long) mapX << 32) | (mapY & 0xFFFFFFFFL);
+    }
+
+    /**
+     * This method spreads the bits of a key so nearby positions do not cluster
+     * in the table.
+     * @param key The packed map position.
+     * @return The hash of the key.
+     */
+    private static int hash(long key) {
+        key *= 0x9E3779B97F4A7C15L;
+        return (int) (key ^ (key >>> 32));
+    }
+}
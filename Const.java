@@ -15,6 +15,7 @@ public final class Const {
 
     // Update rates.
     public static final int MS_PER_S = 1000;
+    public static final long NS_PER_MS = 1000000;
 
     // The duration between window redraws in milliseconds.
     public static final int DEFAULT_FRAME_PERIOD = MS_PER_S / 60;
@@ -83,6 +84,10 @@ public final class Const {
     
     // Map data file.
     public static final String MAP_FILE_NAME = "assets/map/map.txt";
+    // Map pack file, converted from the map data file with MapPackConverter.
+    public static final String MAP_PACK_FILE_NAME = "assets/map/map.pack";
+    // Seed of the terrain generated past the edges of the map.
+    public static final long MAP_SEED = 0x53414E4453L;
 
     // Minimap constants.
     public static final Vector MINIMAP_POS = new Vector(40, 40);
@@ -90,16 +95,20 @@ public final class Const {
     public static final int MINIMAP_HEIGHT = 180;
     public static final double MINIMAP_SCALE = 6;
 
+    // The atlas that every image below is packed into, in pages of this size.
+    public static final int TEXTURE_ATLAS_PAGE_SIZE = 1024;
+    public static final TextureAtlas TEXTURE_ATLAS = new TextureAtlas(TEXTURE_ATLAS_PAGE_SIZE);
+
     // Menu images.
-    public static final BufferedImage DAY_SCREEN_BACKGROUND = Sprite.tryLoadImage("assets/images/menu/day_background.png");
-    public static final BufferedImage NIGHT_SCREEN_BACKGROUND = Sprite.tryLoadImage("assets/images/menu/night_background.png");
-    public static final BufferedImage HOW_TO_PlAY_SCREEN_TEXT = Sprite.tryLoadImage("assets/images/menu/how_to_play.png");
+    public static final BufferedImage DAY_SCREEN_BACKGROUND = TEXTURE_ATLAS.load("assets/images/menu/day_background.png");
+    public static final BufferedImage NIGHT_SCREEN_BACKGROUND = TEXTURE_ATLAS.load("assets/images/menu/night_background.png");
+    public static final BufferedImage HOW_TO_PlAY_SCREEN_TEXT = TEXTURE_ATLAS.load("assets/images/menu/how_to_play.png");
 
     // Player animation images.
-    public static final BufferedImage PLAYER_IDLE_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/player/mummy_idle_left.png");
-    public static final BufferedImage PLAYER_WALK_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/player/mummy_walk_left.png");
-    public static final BufferedImage PLAYER_ATTACK_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/player/mummy_attack_left.png");
-    public static final BufferedImage PLAYER_HURT_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/player/mummy_hurt_left.png");
+    public static final BufferedImage PLAYER_IDLE_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/player/mummy_idle_left.png");
+    public static final BufferedImage PLAYER_WALK_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/player/mummy_walk_left.png");
+    public static final BufferedImage PLAYER_ATTACK_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/player/mummy_attack_left.png");
+    public static final BufferedImage PLAYER_HURT_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/player/mummy_hurt_left.png");
 
     // Player animation files.
     public static final String PLAYER_IDLE_FILE_NAME = "assets/animation/mummy/mummy_idle.txt";
@@ -108,11 +117,11 @@ public final class Const {
     public static final String PLAYER_HURT_FILE_NAME = "assets/animation/mummy/mummy_hurt.txt";
 
     // Enemy animation images.
-    public static final BufferedImage ENEMY_IDLE_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/enemy/mummy_idle_left.png");
-    public static final BufferedImage ENEMY_WALK_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/enemy/mummy_walk_left.png");
-    public static final BufferedImage ENEMY_ATTACK_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/enemy/mummy_attack_left.png");
-    public static final BufferedImage ENEMY_HURT_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/enemy/mummy_hurt_left.png");
-    public static final BufferedImage ENEMY_DEATH_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/enemy/mummy_death_left.png");
+    public static final BufferedImage ENEMY_IDLE_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/enemy/mummy_idle_left.png");
+    public static final BufferedImage ENEMY_WALK_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/enemy/mummy_walk_left.png");
+    public static final BufferedImage ENEMY_ATTACK_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/enemy/mummy_attack_left.png");
+    public static final BufferedImage ENEMY_HURT_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/enemy/mummy_hurt_left.png");
+    public static final BufferedImage ENEMY_DEATH_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/enemy/mummy_death_left.png");
 
     // Enemy animation files.
     public static final String ENEMY_IDLE_FILE_NAME = "assets/animation/mummy/mummy_idle.txt";
@@ -122,8 +131,8 @@ public final class Const {
     public static final String ENEMY_DEATH_FILE_NAME = "assets/animation/mummy/mummy_death.txt";
 
     // Sword animation images.
-    public static final BufferedImage SWORD_IDLE_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/sword/sword_idle.png");
-    public static final BufferedImage SWORD_ATTACK_SPRITE_SHEET = Sprite.tryLoadImage("assets/images/sword/sword_idle.png");
+    public static final BufferedImage SWORD_IDLE_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/sword/sword_idle.png");
+    public static final BufferedImage SWORD_ATTACK_SPRITE_SHEET = TEXTURE_ATLAS.load("assets/images/sword/sword_idle.png");
     
     // Sword animation files.
     public static final String SWORD_IDLE_FILE_NAME = "assets/animation/sword/sword_idle.txt";
@@ -144,8 +153,8 @@ public final class Const {
     public static final String SWING_SOUND_FILE_NAME = "assets/audio/swing_sound.wav";
 
     // Tile and map sprites.
-    public static final Sprite SAND_TILE_SPRITE = new Sprite(0, 0, "assets/images/tiles/sand_tile.png");
-    public static final Sprite ROCK_TILE_SPRITE = new Sprite(0, 0, "assets/images/tiles/rock_tile.png");
+    public static final Sprite SAND_TILE_SPRITE = new Sprite(0, 0, TEXTURE_ATLAS.load("assets/images/tiles/sand_tile.png"));
+    public static final Sprite ROCK_TILE_SPRITE = new Sprite(0, 0, TEXTURE_ATLAS.load("assets/images/tiles/rock_tile.png"));
 
     public static Font tryLoadLocalFont(String baseFontName, int fontType, int fontStyle, int fontSize) {
         Font fallbackFont = new Font("Calibri", fontStyle, fontSize);
@@ -0,0 +1,914 @@
+import java.awt.BasicStroke;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+
+import java.util.Arrays;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * This class holds every enemy in the game as an entity-component system. An
+ * enemy is only an index into parallel arrays, one for each part of its state:
+ * its position, speed, target, health, animation and facing. The systems that
+ * move, fight and animate the enemies each loop over these arrays in order, so
+ * a large horde stays packed together in memory instead of being spread across
+ * an object for every enemy, animation cycle, sword and health bar.
+ * <p>Enemies walk towards the player along the shared {@code FlowField}, swing
+ * their swords when they are close, get hurt and play a death animation before
+ * they are removed. Their animation clips and swing sound are shared. Removing
+ * enemies moves the ones after them down, so the index of an enemy can change
+ * every update and should not be kept.</p>
+ * <p>Large hordes decide where to move, and check which swords hit, on several
+ * threads at once. Every other change to the enemies and the player is made on
+ * the thread calling the systems, in order of index, so a game plays out the
+ * same no matter how many threads there are.</p>
+ * @see AnimationClip
+ * @see FlowField
+ */
+public class EnemySystem implements Drawable, Debuggable {
+    private static final int DEFAULT_CAPACITY = 64;
+    // The number of enemies decided together on one thread. A batch takes about
+    // 20 microseconds, long enough that splitting costs nothing noticeable, and
+    // small enough that a horde of 2000 is split across 8 threads.
+    private static final int DECIDE_BATCH_SIZE = 256;
+    // The number of enemies checked for fighting together on one thread. Most
+    // enemies are far from the player and skipped after a bounds check, so a
+    // batch is several times larger than a decide batch for the same time.
+    private static final int FIGHT_BATCH_SIZE = 1024;
+    private static final int WALK_SPEED = 4;
+    private static final int ATTACK_RANGE = 20;
+    // Hitboxes can stick out of their frames a little, so fighting areas are padded.
+    private static final int FIGHTING_PADDING = 4;
+
+    // The animation states of an enemy, each with its own clip.
+    private static final int IDLE = 0;
+    private static final int WALK = 1;
+    private static final int ATTACK = 2;
+    private static final int HURT = 3;
+    private static final int DEATH = 4;
+    private static final int NUM_STATES = 5;
+
+    // What an enemy decided to do after moving.
+    private static final int KEEP_GOING = 0;
+    private static final int ATTACK_PLAYER = 1;
+    private static final int TARGET_PLAYER = 2;
+
+    // What the fight checks found for an enemy, as flags.
+    private static final int NEAR_PLAYER = 1;
+    private static final int HIT_BY_PLAYER = 2;
+    private static final int HITS_PLAYER = 4;
+
+    // The animation states of an enemy's sword.
+    private static final int SWORD_IDLE = 0;
+    private static final int SWORD_ATTACK = 1;
+    private static final int NUM_SWORD_STATES = 2;
+
+    private Player player;
+    private FlowField flowField;
+
+    // The shared data of every enemy.
+    private AnimationClip[] clips;
+    private AnimationClip[] swordClips;
+    private Sound swingSound;
+    private HealthBar healthBar;
+    private int numSpawned;
+
+    // The components of each enemy.
+    private int size;
+    private int[] ids;
+    private double[] xs;
+    private double[] ys;
+    // The position of each enemy before the last update, for drawing between updates.
+    private double[] prevXs;
+    private double[] prevYs;
+    private double[] speedXs;
+    private double[] speedYs;
+    private double[] targetXs;
+    private double[] targetYs;
+    private int[] healths;
+    private int[] maxHealths;
+    private int[] swordDamages;
+    private int[] facings;
+    private int[] states;
+    private int[][] steps;
+    private int[] swordStates;
+    private int[][] swordSteps;
+    private boolean[] deadStates;
+
+    // The decisions and fight checks of each enemy, waiting to be applied.
+    private int[] nextFacings;
+    private int[] intents;
+    private int[] fightResults;
+
+    // Scratch vectors for deciding on the thread calling the systems.
+    private Vector nextStep;
+    private Vector speed;
+
+    /**
+     * This constructs an {@code EnemySystem} object with no enemies.
+     * @param player The player the enemies fight.
+     */
+    public EnemySystem(Player player) {
+        this.player = player;
+        this.flowField = null;
+
+        this.clips = new AnimationClip[NUM_STATES];
+        this.clips[IDLE] = AnimationClip.get(Const.ENEMY_IDLE_SPRITE_SHEET, Const.ENEMY_IDLE_FILE_NAME);
+        this.clips[WALK] = AnimationClip.get(Const.ENEMY_WALK_SPRITE_SHEET, Const.ENEMY_WALK_FILE_NAME);
+        this.clips[ATTACK] = AnimationClip.get(Const.ENEMY_ATTACK_SPRITE_SHEET, Const.ENEMY_ATTACK_FILE_NAME);
+        this.clips[HURT] = AnimationClip.get(Const.ENEMY_HURT_SPRITE_SHEET, Const.ENEMY_HURT_FILE_NAME);
+        this.clips[DEATH] = AnimationClip.get(Const.ENEMY_DEATH_SPRITE_SHEET, Const.ENEMY_DEATH_FILE_NAME);
+
+        this.swordClips = new AnimationClip[NUM_SWORD_STATES];
+        this.swordClips[SWORD_IDLE] = AnimationClip.get(Const.SWORD_IDLE_SPRITE_SHEET, Const.SWORD_IDLE_FILE_NAME);
+        this.swordClips[SWORD_ATTACK] = AnimationClip.get(Const.SWORD_ATTACK_SPRITE_SHEET, Const.SWORD_ATTACK_FILE_NAME);
+
+        this.swingSound = new Sound(Const.SWING_SOUND_FILE_NAME);
+        this.healthBar = new HealthBar(Vector.VECTOR_ZERO, 0,
+                this.clips[IDLE].getFrameWidth() - 40, 7);
+        this.numSpawned = 0;
+
+        this.size = 0;
+        this.ids = new int[DEFAULT_CAPACITY];
+        this.xs = new double[DEFAULT_CAPACITY];
+        this.ys = new double[DEFAULT_CAPACITY];
+        this.prevXs = new double[DEFAULT_CAPACITY];
+        this.prevYs = new double[DEFAULT_CAPACITY];
+        this.speedXs = new double[DEFAULT_CAPACITY];
+        this.speedYs = new double[DEFAULT_CAPACITY];
+        this.targetXs = new double[DEFAULT_CAPACITY];
+        this.targetYs = new double[DEFAULT_CAPACITY];
+        this.healths = new int[DEFAULT_CAPACITY];
+        this.maxHealths = new int[DEFAULT_CAPACITY];
+        this.swordDamages = new int[DEFAULT_CAPACITY];
+        this.facings = new int[DEFAULT_CAPACITY];
+        this.states = new int[DEFAULT_CAPACITY];
+        this.steps = new int[NUM_STATES][DEFAULT_CAPACITY];
+        this.swordStates = new int[DEFAULT_CAPACITY];
+        this.swordSteps = new int[NUM_SWORD_STATES][DEFAULT_CAPACITY];
+        this.deadStates = new boolean[DEFAULT_CAPACITY];
+        this.nextFacings = new int[DEFAULT_CAPACITY];
+        this.intents = new int[DEFAULT_CAPACITY];
+        this.fightResults = new int[DEFAULT_CAPACITY];
+
+        this.nextStep = new Vector();
+        this.speed = new Vector();
+    }
+
+    /**
+     * This method adds an enemy, standing idle and facing left.
+     * @param x The top-left x-coordinate of the enemy.
+     * @param y The top-left y-coordinate of the enemy.
+     * @param maxHealthPoints The max health of the enemy.
+     * @param swordDamagePoints The sword damage of the enemy.
+     * @return The index of the new enemy.
+     */
+    public int spawn(double x, double y, int maxHealthPoints, int swordDamagePoints) {
+        if (this.size == this.xs.length) {
+            this.resize(this.size * 2);
+        }
+
+        int i = this.size;
+        this.ids[i] = this.numSpawned;
+        this.xs[i] = x;
+        this.ys[i] = y;
+        this.prevXs[i] = x;
+        this.prevYs[i] = y;
+        this.speedXs[i] = 0;
+        this.speedYs[i] = 0;
+        this.targetXs[i] = x;
+        this.targetYs[i] = y;
+        this.healths[i] = maxHealthPoints;
+        this.maxHealths[i] = maxHealthPoints;
+        this.swordDamages[i] = swordDamagePoints;
+        this.facings[i] = AnimationFrame.ORIGINAL;
+        this.states[i] = IDLE;
+        for (int state = 0; state < NUM_STATES; state++) {
+            this.steps[state][i] = 0;
+        }
+        this.swordStates[i] = SWORD_IDLE;
+        for (int state = 0; state < NUM_SWORD_STATES; state++) {
+            this.swordSteps[state][i] = 0;
+        }
+        this.deadStates[i] = false;
+
+        this.numSpawned++;
+        this.size++;
+        return i;
+    }
+
+    /**
+     * This method removes every enemy.
+     */
+    public void clear() {
+        this.size = 0;
+    }
+
+    /**
+     * This method is the movement system. Each enemy walks towards its target,
+     * following the flow field around solid tiles if there is one, and stops when
+     * it runs into the player. It then swings its sword if the player is in range,
+     * or picks the player as its next target once it reaches the last one.
+     * <p>It runs in two phases. Every enemy first decides its speed, facing and
+     * what to do next without changing anything else, split across the common
+     * fork-join pool when there are many enemies. The decisions are then applied
+     * one enemy at a time, which is also when swords start swinging.</p>
+     */
+    public void update() {
+        int playerCenterX = this.player.getCenterX();
+        int playerCenterY = this.player.getCenterY();
+
+        // Remember where the enemies were, for drawing between updates.
+        System.arraycopy(this.xs, 0, this.prevXs, 0, this.size);
+        System.arraycopy(this.ys, 0, this.prevYs, 0, this.size);
+
+        // Decide what to do.
+        Hitbox playerHitbox = this.player.getGeneralHitbox();
+        if (this.size > DECIDE_BATCH_SIZE) {
+            new DecideTask(0, this.size, playerCenterX, playerCenterY, playerHitbox).invoke();
+        } else {
+            for (int i = 0; i < this.size; i++) {
+                this.decide(i, playerCenterX, playerCenterY, playerHitbox, this.nextStep, this.speed);
+            }
+        }
+
+        // Apply the decisions in order.
+        for (int i = 0; i < this.size; i++) {
+            this.facings[i] = this.nextFacings[i];
+            if (this.checkCanMove(i)) {
+                this.xs[i] += this.speedXs[i];
+                this.ys[i] += this.speedYs[i];
+            }
+
+            if (this.intents[i] == ATTACK_PLAYER) {
+                this.attack(i);
+            } else if (this.intents[i] == TARGET_PLAYER) {
+                this.targetXs[i] = playerCenterX;
+                this.targetYs[i] = playerCenterY;
+            }
+        }
+    }
+
+    /**
+     * This method decides the speed, facing and next action of an enemy for the
+     * movement system. It only reads the state of the game, so it is safe to
+     * call for different enemies on different threads.
+     * @param i The index of the enemy.
+     * @param playerCenterX The center x-coordinate of the player.
+     * @param playerCenterY The center y-coordinate of the player.
+     * @param playerHitbox The general hitbox of the player.
+     * @param nextStep A {@code Vector} only used by this thread, to hold the next step.
+     * @param speed A {@code Vector} only used by this thread, to hold the speed.
+     */
+    private void decide(int i, int playerCenterX, int playerCenterY, Hitbox playerHitbox,
+            Vector nextStep, Vector speed) {
+        double x = this.xs[i];
+        double y = this.ys[i];
+        int state = this.states[i];
+        int facing = this.facings[i];
+
+        // Decide the speed. Follow the path around solid tiles if there is one.
+        int centerX = this.calculateCenterX(x, state);
+        int centerY = this.calculateCenterY(y, state);
+        if (this.flowField != null && this.flowField.getNextStep(centerX, centerY, nextStep)) {
+            speed.set(nextStep.getX() - centerX, nextStep.getY() - centerY);
+            speed.setLength(WALK_SPEED);
+            facing = getFacingTowards(nextStep.getX(), centerX);
+        } else {
+            speed.set(this.targetXs[i] - centerX, this.targetYs[i] - centerY);
+            speed.setLength(Math.min(WALK_SPEED, (int) Math.sqrt(Vector.getSquareEuclideanDistance(
+                    x, y, this.targetXs[i], this.targetYs[i]))));
+        }
+
+        if (this.getFrame(i).intersects(x, y, facing, playerHitbox)) {
+            speed.set(Vector.VECTOR_ZERO);
+        }
+        this.speedXs[i] = speed.getX();
+        this.speedYs[i] = speed.getY();
+
+        // Decide whether to attack or set a new target position from where it moves to.
+        if (this.checkCanMove(i)) {
+            centerX = this.calculateCenterX(x + speed.getX(), state);
+            centerY = this.calculateCenterY(y + speed.getY(), state);
+        }
+        this.intents[i] = KEEP_GOING;
+        if (Vector.compareDistance(centerX, centerY, playerCenterX, playerCenterY, ATTACK_RANGE) <= 0) {
+            this.intents[i] = ATTACK_PLAYER;
+        } else if (Vector.compareDistance(centerX, centerY, this.targetXs[i], this.targetYs[i],
+                Tile.LENGTH * 2) <= 0) {
+            this.intents[i] = TARGET_PLAYER;
+            facing = getFacingTowards(playerCenterX, centerX);
+        }
+        this.nextFacings[i] = facing;
+    }
+
+    /**
+     * This method is the damage system. The swords of the player and each enemy
+     * near it are checked against each other's bodies. Only enemies whose frames
+     * and swords touch the area the player can fight in are checked closely.
+     * <p>Like the movement system, it runs in two phases. Every enemy is first
+     * checked without changing anything, split across the common fork-join pool
+     * when there are many enemies. The damage is then dealt one enemy at a time.</p>
+     */
+    public void fight() {
+        Sword playerSword = this.player.getSword();
+        AnimationCycle playerCycle = this.player.getActiveCycle();
+        int areaX = (int) this.player.getX() - FIGHTING_PADDING;
+        int areaY = (int) this.player.getY() - FIGHTING_PADDING;
+        int areaWidth = Math.max(this.player.getWidth(), playerSword.getWidth()) + FIGHTING_PADDING * 2;
+        int areaHeight = Math.max(this.player.getHeight(), playerSword.getHeight()) + FIGHTING_PADDING * 2;
+
+        // Check which swords hit.
+        if (this.size > FIGHT_BATCH_SIZE) {
+            new FightTask(0, this.size, areaX, areaY, areaWidth, areaHeight).invoke();
+        } else {
+            for (int i = 0; i < this.size; i++) {
+                this.checkFight(i, areaX, areaY, areaWidth, areaHeight);
+            }
+        }
+
+        // Deal the damage in order.
+        for (int i = 0; i < this.size; i++) {
+            int fightResult = this.fightResults[i];
+            if ((fightResult & NEAR_PLAYER) == 0) {
+                continue;
+            }
+
+            // Deal player damage onto the enemy.
+            if ((fightResult & HIT_BY_PLAYER) != 0) {
+                this.takeDamage(i, playerSword.getDamage());
+            }
+
+            // Deal enemy damage onto the player. Getting hurt changes the animation of the
+            // player, so once it changes the enemies are checked against the new one.
+            boolean hitsPlayer = (fightResult & HITS_PLAYER) != 0;
+            if (this.player.getActiveCycle() != playerCycle) {
+                hitsPlayer = this.checkHitsPlayer(i);
+            }
+            if (hitsPlayer) {
+                this.player.takeDamage(this.swordDamages[i]);
+            }
+        }
+    }
+
+    /**
+     * This method checks which swords hit for an enemy in the damage system. It
+     * only reads the state of the game, so it is safe to call for different
+     * enemies on different threads.
+     * @param i The index of the enemy.
+     * @param areaX The top-left x-coordinate of the area the player can fight in.
+     * @param areaY The top-left y-coordinate of the area the player can fight in.
+     * @param areaWidth The width of the area the player can fight in.
+     * @param areaHeight The height of the area the player can fight in.
+     */
+    private void checkFight(int i, int areaX, int areaY, int areaWidth, int areaHeight) {
+        if (!this.checkNearArea(i, areaX, areaY, areaWidth, areaHeight)) {
+            this.fightResults[i] = 0;
+            return;
+        }
+
+        int fightResult = NEAR_PLAYER;
+        if (this.player.getSword().intersects(this.getFrame(i), this.xs[i], this.ys[i], this.facings[i])) {
+            fightResult |= HIT_BY_PLAYER;
+        }
+        if (this.checkHitsPlayer(i)) {
+            fightResult |= HITS_PLAYER;
+        }
+        this.fightResults[i] = fightResult;
+    }
+
+    /**
+     * This method checks if the sword of an enemy hits the player as the player
+     * is animated right now.
+     * @param i The index of the enemy.
+     * @return {@code true} if it hits, {@code false} otherwise.
+     */
+    private boolean checkHitsPlayer(int i) {
+        return this.player.getActiveCycle().intersects(this.getSwordFrame(i), this.xs[i], this.ys[i],
+                this.facings[i]);
+    }
+
+    /**
+     * This method starts the death animation of enemies that ran out of health, and
+     * removes the enemies whose death animation has finished. The enemies that are
+     * left keep their order.
+     */
+    public void removeDead() {
+        int numLeft = 0;
+        for (int i = 0; i < this.size; i++) {
+            if (!this.checkAlive(i)) {
+                this.states[i] = DEATH;
+            }
+
+            if (!this.deadStates[i]) {
+                if (numLeft != i) {
+                    this.move(i, numLeft);
+                }
+                numLeft++;
+            }
+        }
+        this.size = numLeft;
+    }
+
+    /**
+     * This method is the animation system. It moves each enemy and its sword onto
+     * their next frames, and switches animations when they finish. An enemy is
+     * completely dead once its death animation finishes.
+     */
+    public void animate() {
+        for (int i = 0; i < this.size; i++) {
+            int state = this.states[i];
+            AnimationClip clip = this.clips[state];
+            this.steps[state][i] = clip.getNextStep(this.steps[state][i]);
+
+            if (clip.checkLastStep(this.steps[state][i])) {
+                if (state == DEATH) {
+                    this.deadStates[i] = true;
+                }
+                this.steps[state][i] = 0;
+                this.steps[ATTACK][i] = 0;
+            }
+
+            // Walk towards the target.
+            if (this.checkAtTarget(i)) {
+                this.attack(i);
+            } else {
+                this.states[i] = WALK;
+            }
+
+            // Put the sword away once it finishes swinging.
+            int swordState = this.swordStates[i];
+            AnimationClip swordClip = this.swordClips[swordState];
+            this.swordSteps[swordState][i] = swordClip.getNextStep(this.swordSteps[swordState][i]);
+
+            if (swordClip.checkLastStep(this.swordSteps[swordState][i])) {
+                this.swordSteps[swordState][i] = 0;
+                this.swordSteps[SWORD_ATTACK][i] = 0;
+                this.swordStates[i] = SWORD_IDLE;
+            }
+        }
+    }
+
+    /**
+     * This method draws every enemy with its health bar and sword.
+     */
+    @Override
+    public void draw(Graphics graphics) {
+        for (int i = 0; i < this.size; i++) {
+            this.draw(graphics, i, this.xs[i], this.ys[i]);
+        }
+    }
+
+    /**
+     * This method draws the enemies that are visible to a {@code Camera}, each
+     * partway between where it was before the last update and where it is now.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param camera The {@code Camera} showing the visible area.
+     * @param alpha How far the game is between its last update and the next one,
+     *              from {@code 0} to {@code 1}.
+     */
+    public void draw(Graphics graphics, Camera camera, double alpha) {
+        for (int i = 0; i < this.size; i++) {
+            double x = this.prevXs[i] + (this.xs[i] - this.prevXs[i]) * alpha;
+            double y = this.prevYs[i] + (this.ys[i] - this.prevYs[i]) * alpha;
+            if (camera.checkVisible((int) x, (int) y, this.getWidth(i), this.getHeight(i))) {
+                this.draw(graphics, i, x, y);
+            }
+        }
+    }
+
+    /**
+     * This method draws an enemy with its health bar and sword.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param i The index of the enemy.
+     * @param x The top-left x-coordinate to draw the enemy at.
+     * @param y The top-left y-coordinate to draw the enemy at.
+     */
+    private void draw(Graphics graphics, int i, double x, double y) {
+        int state = this.states[i];
+        this.getFrame(i).draw(graphics, x, y, this.facings[i]);
+
+        this.healthBar.setMaxPoints(this.maxHealths[i]);
+        this.healthBar.setHealth(this.healths[i]);
+        this.healthBar.setPos(this.calculateCenterX(x, state) - this.getWidth(i) / 2 + 20,
+                this.calculateCenterY(y, state) - 53);
+        this.healthBar.draw(graphics);
+
+        this.getSwordFrame(i).draw(graphics, x, y, this.facings[i]);
+    }
+
+    /**
+     * This method draws the hitboxes, the target, and other debug info for every enemy.
+     */
+    @Override
+    public void drawDebugInfo(Graphics graphics) {
+        for (int i = 0; i < this.size; i++) {
+            double x = this.xs[i];
+            double y = this.ys[i];
+            drawGeneralHitbox(graphics, this.clips[this.states[i]], x, y);
+            this.getFrame(i).drawDebugInfo(graphics, x, y, this.facings[i]);
+            drawGeneralHitbox(graphics, this.swordClips[this.swordStates[i]], x, y);
+            this.getSwordFrame(i).drawDebugInfo(graphics, x, y, this.facings[i]);
+
+            // Draw the coordinates of the enemy.
+            String info = "Enemy " + this.ids[i] + "(" + this.getCenterX(i) + ", "
+                    + (Math.round(y * 10) / 10.0) + ")";
+            Text text = new Text(info, Const.DEBUG_FONT, this.getCenterX(i), (int) y);
+            text.draw(graphics);
+
+            // Draw the enemy target.
+            graphics.setColor(Const.GRAY);
+            graphics.fillOval((int) this.targetXs[i] - 3, (int) this.targetYs[i] - 3, 6, 6);
+        }
+    }
+
+    /**
+     * This method draws the outline of the general hitbox of a clip and the anchor
+     * it is placed relative to.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param clip The clip.
+     * @param anchorX The anchor x-coordinate.
+     * @param anchorY The anchor y-coordinate.
+     */
+    private static void drawGeneralHitbox(Graphics graphics, AnimationClip clip, double anchorX,
+            double anchorY) {
+        Vector hitboxPos = clip.getGeneralHitboxPos();
+        if (clip.checkFromFile()) {
+            graphics.setColor(Const.GREEN);
+        } else {
+            graphics.setColor(Const.RED);
+        }
+        ((Graphics2D) graphics).setStroke(new BasicStroke(1));
+        graphics.drawRect((int) (anchorX + hitboxPos.getX()), (int) (anchorY + hitboxPos.getY()),
+                clip.getGeneralHitboxWidth(), clip.getGeneralHitboxHeight());
+        graphics.fillOval((int) anchorX, (int) anchorY, 2, 2);
+    }
+
+    public int size() {
+        return this.size;
+    }
+
+    public double getX(int i) {
+        return this.xs[i];
+    }
+
+    public double getY(int i) {
+        return this.ys[i];
+    }
+
+    public int getWidth(int i) {
+        return this.clips[this.states[i]].getFrameWidth();
+    }
+
+    public int getHeight(int i) {
+        return this.clips[this.states[i]].getFrameHeight();
+    }
+
+    /**
+     * This method calculates the x-coordinate of the center of the general hitbox
+     * of an enemy, the same way an {@code AnimationCycle} does.
+     * @param i The index of the enemy.
+     * @return The center x-coordinate.
+     */
+    public int getCenterX(int i) {
+        return this.calculateCenterX(this.xs[i], this.states[i]);
+    }
+
+    /**
+     * This method calculates the y-coordinate of the center of the general hitbox
+     * of an enemy, the same way an {@code AnimationCycle} does.
+     * @param i The index of the enemy.
+     * @return The center y-coordinate.
+     */
+    public int getCenterY(int i) {
+        return this.calculateCenterY(this.ys[i], this.states[i]);
+    }
+
+    public int getHealth(int i) {
+        return this.healths[i];
+    }
+
+    /**
+     * This method checks if an enemy is alive.
+     * @param i The index of the enemy.
+     * @return {@code true} if the enemy is alive, {@code false} otherwise.
+     */
+    public boolean checkAlive(int i) {
+        return this.healths[i] > 0;
+    }
+
+    /**
+     * This method sets the flow field the enemies follow to walk around solid tiles.
+     * @param flowField The shared {@code FlowField}, or {@code null} to walk straight
+     *                  at the target.
+     */
+    public void setFlowField(FlowField flowField) {
+        this.flowField = flowField;
+    }
+
+    /**
+     * This method sets a new maximum health points for every enemy. It also refills
+     * their current health to the new maximum. If it is negative, nothing happens.
+     * @param newMaxHealthPoints The new maximum health points of the enemies.
+     */
+    public void setMaxHealthPoints(int newMaxHealthPoints) {
+        if (newMaxHealthPoints < 0) {
+            return;
+        }
+
+        Arrays.fill(this.maxHealths, 0, this.size, newMaxHealthPoints);
+        Arrays.fill(this.healths, 0, this.size, newMaxHealthPoints);
+    }
+
+    /**
+     * This method returns a string representation of this {@code EnemySystem} in
+     * the format "EnemySystem (size: s, capacity: c, spawned: n)".
+     */
+    @Override
+    public String toString() {
+        return "EnemySystem (size: " + this.size + ", capacity: " + this.xs.length + ", spawned: "
+                + this.numSpawned + ")";
+    }
+
+    /**
+     * This method calculates the center x-coordinate of the general hitbox of an
+     * enemy standing somewhere in an animation state.
+     * @param x The top-left x-coordinate of the enemy.
+     * @param state The animation state of the enemy.
+     * @return The center x-coordinate.
+     */
+    private int calculateCenterX(double x, int state) {
+        AnimationClip clip = this.clips[state];
+        return (int) (x + clip.getGeneralHitboxX()) + clip.getGeneralHitboxWidth() / 2;
+    }
+
+    /**
+     * This method calculates the center y-coordinate of the general hitbox of an
+     * enemy standing somewhere in an animation state.
+     * @param y The top-left y-coordinate of the enemy.
+     * @param state The animation state of the enemy.
+     * @return The center y-coordinate.
+     */
+    private int calculateCenterY(double y, int state) {
+        AnimationClip clip = this.clips[state];
+        return (int) (y + clip.getGeneralHitboxY()) + clip.getGeneralHitboxHeight() / 2;
+    }
+
+    /**
+     * This method gets the frame an enemy is showing.
+     * @param i The index of the enemy.
+     * @return The {@code AnimationFrame} of its current animation.
+     */
+    private AnimationFrame getFrame(int i) {
+        int state = this.states[i];
+        AnimationClip clip = this.clips[state];
+        return clip.getFrame(clip.getFrameIndex(this.steps[state][i]));
+    }
+
+    /**
+     * This method gets the frame the sword of an enemy is showing.
+     * @param i The index of the enemy.
+     * @return The {@code AnimationFrame} of the current sword animation.
+     */
+    private AnimationFrame getSwordFrame(int i) {
+        int swordState = this.swordStates[i];
+        AnimationClip swordClip = this.swordClips[swordState];
+        return swordClip.getFrame(swordClip.getFrameIndex(this.swordSteps[swordState][i]));
+    }
+
+    /**
+     * This method checks if an enemy is within a certain distance threshold from its target.
+     * @param i The index of the enemy.
+     * @return {@code true} if it is close to its target, {@code false} otherwise.
+     */
+    private boolean checkAtTarget(int i) {
+        return Vector.compareDistance(this.getCenterX(i), this.getCenterY(i), this.targetXs[i],
+                this.targetYs[i], Tile.LENGTH * 2) <= 0;
+    }
+
+    /**
+     * This method checks if an enemy can currently move. The only time an enemy
+     * cannot move is when it is being hit.
+     * @param i The index of the enemy.
+     * @return {@code true} if it can move, {@code false} otherwise.
+     */
+    private boolean checkCanMove(int i) {
+        return this.states[i] != HURT;
+    }
+
+    /**
+     * This method checks if the frames of an enemy and its sword touch an area.
+     * The area they take up is padded like the area being checked.
+     * @param i The index of the enemy.
+     * @return {@code true} if they touch, {@code false} otherwise.
+     */
+    private boolean checkNearArea(int i, int x, int y, int width, int height) {
+        AnimationClip swordClip = this.swordClips[this.swordStates[i]];
+        int left = (int) this.xs[i] - FIGHTING_PADDING;
+        int up = (int) this.ys[i] - FIGHTING_PADDING;
+        int right = left + Math.max(this.getWidth(i), swordClip.getFrameWidth()) + FIGHTING_PADDING * 2;
+        int down = up + Math.max(this.getHeight(i), swordClip.getFrameHeight()) + FIGHTING_PADDING * 2;
+        return left <= x + width && x <= right && up <= y + height && y <= down;
+    }
+
+    /**
+     * This method begins the attack animation of an enemy and swings its sword.
+     * The enemy must be able to move and not be already attacking.
+     * @param i The index of the enemy.
+     */
+    private void attack(int i) {
+        if (this.swordStates[i] != SWORD_ATTACK && this.checkCanMove(i)) {
+            this.states[i] = ATTACK;
+            this.swordStates[i] = SWORD_ATTACK;
+            this.swingSound.start();
+        }
+    }
+
+    /**
+     * This method inflicts damage onto an enemy and plays its hurt animation.
+     * @param i The index of the enemy.
+     * @param damagePoints The amount of damage to deal to the enemy.
+     */
+    private void takeDamage(int i, int damagePoints) {
+        if (this.checkAlive(i)) {
+            this.healths[i] = Math.max(0, this.healths[i] - damagePoints);
+            this.states[i] = HURT;
+        }
+    }
+
+    /**
+     * This method finds the way an enemy and its sword face to look towards an
+     * x-coordinate. The sprite sheets face left.
+     * @param x The x-coordinate to face.
+     * @param centerX The center x-coordinate of the enemy.
+     * @return {@code AnimationFrame.ORIGINAL} to face left, {@code AnimationFrame.REFLECTED}
+     *         to face right.
+     */
+    private static int getFacingTowards(double x, int centerX) {
+        if (Double.compare(x, centerX) <= 0) {
+            return AnimationFrame.ORIGINAL;
+        }
+        return AnimationFrame.REFLECTED;
+    }
+
+    /**
+     * This method copies every component of an enemy to another index.
+     * @param from The index to copy from.
+     * @param to The index to copy to.
+     */
+    private void move(int from, int to) {
+        this.ids[to] = this.ids[from];
+        this.xs[to] = this.xs[from];
+        this.ys[to] = this.ys[from];
+        this.prevXs[to] = this.prevXs[from];
+        this.prevYs[to] = this.prevYs[from];
+        this.speedXs[to] = this.speedXs[from];
+        this.speedYs[to] = this.speedYs[from];
+        this.targetXs[to] = this.targetXs[from];
+        this.targetYs[to] = this.targetYs[from];
+        this.healths[to] = this.healths[from];
+        this.maxHealths[to] = this.maxHealths[from];
+        this.swordDamages[to] = this.swordDamages[from];
+        this.facings[to] = this.facings[from];
+        this.states[to] = this.states[from];
+        for (int state = 0; state < NUM_STATES; state++) {
+            this.steps[state][to] = this.steps[state][from];
+        }
+        this.swordStates[to] = this.swordStates[from];
+        for (int state = 0; state < NUM_SWORD_STATES; state++) {
+            this.swordSteps[state][to] = this.swordSteps[state][from];
+        }
+        this.deadStates[to] = this.deadStates[from];
+    }
+
+    /**
+     * This method moves every component into arrays of a new size.
+     * @param newCapacity The new number of enemies that fit.
+     */
+    private void resize(int newCapacity) {
+        this.ids = Arrays.copyOf(this.ids, newCapacity);
+        this.xs = Arrays.copyOf(this.xs, newCapacity);
+        this.ys = Arrays.copyOf(this.ys, newCapacity);
+        this.prevXs = Arrays.copyOf(this.prevXs, newCapacity);
+        this.prevYs = Arrays.copyOf(this.prevYs, newCapacity);
+        this.speedXs = Arrays.copyOf(this.speedXs, newCapacity);
+        this.speedYs = Arrays.copyOf(this.speedYs, newCapacity);
+        this.targetXs = Arrays.copyOf(this.targetXs, newCapacity);
+        this.targetYs = Arrays.copyOf(this.targetYs, newCapacity);
+        this.healths = Arrays.copyOf(this.healths, newCapacity);
+        this.maxHealths = Arrays.copyOf(this.maxHealths, newCapacity);
+        this.swordDamages = Arrays.copyOf(this.swordDamages, newCapacity);
+        this.facings = Arrays.copyOf(this.facings, newCapacity);
+        this.states = Arrays.copyOf(this.states, newCapacity);
+        for (int state = 0; state < NUM_STATES; state++) {
+            this.steps[state] = Arrays.copyOf(this.steps[state], newCapacity);
+        }
+        this.swordStates = Arrays.copyOf(this.swordStates, newCapacity);
+        for (int state = 0; state < NUM_SWORD_STATES; state++) {
+            this.swordSteps[state] = Arrays.copyOf(this.swordSteps[state], newCapacity);
+        }
+        this.deadStates = Arrays.copyOf(this.deadStates, newCapacity);
+        this.nextFacings = Arrays.copyOf(this.nextFacings, newCapacity);
+        this.intents = Arrays.copyOf(this.intents, newCapacity);
+        this.fightResults = Arrays.copyOf(this.fightResults, newCapacity);
+    }
+
+    /**
+     * This class decides what a range of enemies do in the movement system. A
+     * range larger than a batch is split in half, and the halves are decided in
+     * parallel. Each enemy only writes its own decisions, so the halves never
+     * touch the same data.
+     */
+    private class DecideTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private int start;
+        private int end;
+        private int playerCenterX;
+        private int playerCenterY;
+        private Hitbox playerHitbox;
+
+        /**
+         * This constructs a {@code DecideTask} object.
+         * @param start The index of the first enemy in the range.
+         * @param end The index after the last enemy in the range.
+         * @param playerCenterX The center x-coordinate of the player.
+         * @param playerCenterY The center y-coordinate of the player.
+         * @param playerHitbox The general hitbox of the player.
+         */
+        private DecideTask(int start, int end, int playerCenterX, int playerCenterY,
+                Hitbox playerHitbox) {
+            this.start = start;
+            this.end = end;
+            this.playerCenterX = playerCenterX;
+            this.playerCenterY = playerCenterY;
+            this.playerHitbox = playerHitbox;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start > DECIDE_BATCH_SIZE) {
+                int middle = (this.start + this.end) >>> 1;
+                invokeAll(new DecideTask(this.start, middle, this.playerCenterX, this.playerCenterY,
+                        this.playerHitbox), new DecideTask(middle, this.end, this.playerCenterX,
+                        this.playerCenterY, this.playerHitbox));
+                return;
+            }
+
+            Vector nextStep = new Vector();
+            Vector speed = new Vector();
+            for (int i = this.start; i < this.end; i++) {
+                decide(i, this.playerCenterX, this.playerCenterY, this.playerHitbox, nextStep, speed);
+            }
+        }
+    }
+
+    /**
+     * This class checks which swords hit for a range of enemies in the damage
+     * system. A range larger than a batch is split in half, and the halves are
+     * checked in parallel. Each enemy only writes its own result, so the halves
+     * never touch the same data.
+     */
+    private class FightTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private int start;
+        private int end;
+        private int areaX;
+        private int areaY;
+        private int areaWidth;
+        private int areaHeight;
+
+        /**
+         * This constructs a {@code FightTask} object.
+         * @param start The index of the first enemy in the range.
+         * @param end The index after the last enemy in the range.
+         * @param areaX The top-left x-coordinate of the area the player can fight in.
+         * @param areaY The top-left y-coordinate of the area the player can fight in.
+         * @param areaWidth The width of the area the player can fight in.
+         * @param areaHeight The height of the area the player can fight in.
+         */
+        private FightTask(int start, int end, int areaX, int areaY, int areaWidth, int areaHeight) {
+            this.start = start;
+            this.end = end;
+            this.areaX = areaX;
+            this.areaY = areaY;
+            this.areaWidth = areaWidth;
+            this.areaHeight = areaHeight;
+        }
+
+        @Override
+        protected void compute() {
+            if (this.end - this.start > FIGHT_BATCH_SIZE) {
+                int middle = (this.start + this.end) >>> 1;
+                invokeAll(new FightTask(this.start, middle, this.areaX, this.areaY, this.areaWidth,
+                        this.areaHeight), new FightTask(middle, this.end, this.areaX, this.areaY,
+                        this.areaWidth, this.areaHeight));
+                return;
+            }
+
+            for (int i = this.start; i < this.end; i++) {
+                checkFight(i, this.areaX, this.areaY, this.areaWidth, this.areaHeight);
+            }
+        }
+    }
+}
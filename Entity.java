@@ -21,7 +21,7 @@ abstract public class Entity implements Drawable, Debuggable {
      * @param position The top-left coordinate.
      */
     public Entity(Vector position) {
-        this.position = position;
+        this.position = position.clone();
     }
 
     /**
@@ -30,7 +30,7 @@ abstract public class Entity implements Drawable, Debuggable {
      * @param name The name of this {@code Entity}.
      */
     public Entity(Vector position, String name) {
-        this.position = position;
+        this.position = position.clone();
         this.name = name;
     }
 
@@ -72,9 +72,11 @@ abstract public class Entity implements Drawable, Debuggable {
     abstract public Vector getCenter();
 
     /**
-     * This method returns the general hitbox of this {@code Entity}. It should
-     * be related to the width, height, and position of this {@code Entity}.
-     * @return
+     * This method returns a reference to the general hitbox of this {@code Entity}.
+     * It should be related to the width, height, and position of this {@code Entity}.
+     * It should only be read, since it moves with this {@code Entity}; clone it
+     * to keep a copy.
+     * @return The general {@code Hitbox}.
      */
     abstract public Hitbox getGeneralHitbox();
 
@@ -90,8 +92,13 @@ abstract public class Entity implements Drawable, Debuggable {
         this.position.setY(newY);
     }
 
+    /**
+     * This method moves this {@code Entity} to a new position. It does NOT store
+     * a reference to the new position, so the position is only ever changed in place.
+     * @param newPos The new top-left coordinate.
+     */
     public void setPos(Vector newPos) {
-        this.position = newPos;
+        this.position.set(newPos);
     }
 
     /**
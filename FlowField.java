@@ -0,0 +1,281 @@
+import java.util.Arrays;
+
+/**
+ * This class represents a map of the shortest walking distance from every tile
+ * near a target to the target tile, going around solid tiles. It is shared by
+ * all the enemies: each enemy only needs to look up the next tile to walk to
+ * from the tile it is standing on, so the cost of pathfinding does not grow with
+ * the number of enemies.
+ * <p>The distances cover the area of chunks that can be active around the target.
+ * They are only calculated again when the target moves onto a different tile, or
+ * when chunks of the map are loaded or unloaded.</p>
+ * @see EnemySystem
+ * @see Map
+ */
+public class FlowField {
+    // The number of tiles along each side of the area covered.
+    public static final int SIZE = (Map.RENDER_DISTANCE * 2 + 1) * Chunk.LENGTH;
+    // The cost of walking to a neighbouring tile, straight or diagonally.
+    private static final int STRAIGHT_COST = 10;
+    private static final int DIAGONAL_COST = 14;
+    private static final int UNREACHABLE = Integer.MAX_VALUE;
+    private static final int NONE = -1;
+
+    // The offsets to the eight neighbouring tiles. The first four are straight.
+    private static final int[] NEIGHBOUR_X = {1, 0, -1, 0, 1, -1, -1, 1};
+    private static final int[] NEIGHBOUR_Y = {0, 1, 0, -1, 1, 1, -1, -1};
+
+    private Map map;
+
+    // The top-left tile of the area covered, and the tile of the target.
+    private int originTileX;
+    private int originTileY;
+    private int targetTileX;
+    private int targetTileY;
+    private boolean calculated;
+    // The number of map chunk changes when the distances were calculated.
+    private int numActiveChanges;
+
+    private boolean[] walkable;
+    private int[] distances;
+    // The index of the neighbouring tile to walk to from each tile.
+    private int[] nextTiles;
+    // A binary heap of tiles to visit, each packed with its distance.
+    private long[] queue;
+    private int queueSize;
+
+    /**
+     * This constructs a {@code FlowField} object over a map. It does not point
+     * anywhere until it is given a target.
+     * @param map The map whose solid tiles are walked around.
+     */
+    public FlowField(Map map) {
+        this.map = map;
+        this.calculated = false;
+
+        this.walkable = new boolean[SIZE * SIZE];
+        this.distances = new int[SIZE * SIZE];
+        this.nextTiles = new int[SIZE * SIZE];
+        this.queue = new long[SIZE * SIZE * NEIGHBOUR_X.length];
+        this.queueSize = 0;
+    }
+
+    /**
+     * This method points this {@code FlowField} at a new target position. The
+     * distances are only calculated again if the target moved onto a different tile
+     * or the active chunks of the map changed.
+     * @param targetPos The position to walk towards.
+     */
+    public void update(Vector targetPos) {
+        this.update(targetPos.getX(), targetPos.getY());
+    }
+
+    /**
+     * This method points this {@code FlowField} at a new target position without
+     * needing a {@code Vector} for it.
+     * @param targetX The x-coordinate to walk towards.
+     * @param targetY The y-coordinate to walk towards.
+     */
+    public void update(double targetX, double targetY) {
+        int tileX = Math.floorDiv((int) targetX, Tile.LENGTH);
+        int tileY = Math.floorDiv((int) targetY, Tile.LENGTH);
+        if (this.calculated && tileX == this.targetTileX && tileY == this.targetTileY
+                && this.numActiveChanges == this.map.getNumActiveChanges()) {
+            return;
+        }
+
+        this.targetTileX = tileX;
+        this.targetTileY = tileY;
+        this.numActiveChanges = this.map.getNumActiveChanges();
+        this.calculate();
+        this.calculated = true;
+    }
+
+    /**
+     * This method finds the next position to walk to from a position in order to
+     * reach the target along the shortest path.
+     * @param x The x-coordinate to walk from.
+     * @param y The y-coordinate to walk from.
+     * @param nextStep The {@code Vector} to store the center of the next tile on the
+     *                 path in. It is left alone if there is no next step.
+     * @return {@code true} if there is a next step, {@code false} if the position is
+     *         on the target tile, outside the area covered, or cannot reach the target.
+     */
+    public boolean getNextStep(int x, int y, Vector nextStep) {
+        if (!this.calculated) {
+            return false;
+        }
+
+        int tileX = Math.floorDiv(x, Tile.LENGTH) - this.originTileX;
+        int tileY = Math.floorDiv(y, Tile.LENGTH) - this.originTileY;
+        if (tileX < 0 || tileX >= SIZE || tileY < 0 || tileY >= SIZE) {
+            return false;
+        }
+
+        int nextTile = this.nextTiles[tileY * SIZE + tileX];
+        if (nextTile == NONE) {
+            return false;
+        }
+
+        int nextTileX = this.originTileX + nextTile % SIZE;
+        int nextTileY = this.originTileY + nextTile / SIZE;
+        nextStep.set(nextTileX * Tile.LENGTH + Tile.LENGTH / 2,
+                nextTileY * Tile.LENGTH + Tile.LENGTH / 2);
+        return true;
+    }
+
+    /**
+     * This method gets the walking distance from a tile to the target tile. A
+     * straight step costs 10 and a diagonal step costs 14.
+     * @param tileX The column of the tile, counting from the origin.
+     * @param tileY The row of the tile, counting from the origin.
+     * @return The distance, {@code Integer.MAX_VALUE} if the target cannot be reached.
+     */
+    public int getDistance(int tileX, int tileY) {
+        tileX -= this.originTileX;
+        tileY -= this.originTileY;
+        if (!this.calculated || tileX < 0 || tileX >= SIZE || tileY < 0 || tileY >= SIZE) {
+            return UNREACHABLE;
+        }
+        return this.distances[tileY * SIZE + tileX];
+    }
+
+    /**
+     * This method calculates the distance from every tile in the area to the
+     * target tile using Dijkstra's algorithm, then points each tile at its
+     * closest neighbour.
+     */
+    private void calculate() {
+        // Cover the chunks that are active while the target is in its chunk.
+        int targetMapX = Math.floorDiv(this.targetTileX, Chunk.LENGTH);
+        int targetMapY = Math.floorDiv(this.targetTileY, Chunk.LENGTH);
+        this.originTileX = (targetMapX - Map.RENDER_DISTANCE) * Chunk.LENGTH;
+        this.originTileY = (targetMapY - Map.RENDER_DISTANCE) * Chunk.LENGTH;
+
+        for (int y = 0; y < SIZE; y++) {
+            for (int x = 0; x < SIZE; x++) {
+                int tileX = this.originTileX + x;
+                int tileY = this.originTileY + y;
+                this.walkable[y * SIZE + x] = !this.map.intersectsWithActiveSolid(tileX, tileY,
+                        tileX, tileY);
+            }
+        }
+        Arrays.fill(this.distances, UNREACHABLE);
+
+        int target = (this.targetTileY - this.originTileY) * SIZE
+                + (this.targetTileX - this.originTileX);
+        this.distances[target] = 0;
+        this.queueSize = 0;
+        this.push(0, target);
+
+        while (this.queueSize > 0) {
+            long entry = this.pop();
+            int distance = (int) (entry >>> 32);
+            int tile = (int) entry;
+            // Skip tiles that were already reached by a shorter path.
+            if (distance > this.distances[tile]) {
+                continue;
+            }
+
+            int tileX = tile % SIZE;
+            int tileY = tile / SIZE;
+            for (int i = 0; i < NEIGHBOUR_X.length; i++) {
+                int neighbour = this.getNeighbour(tileX, tileY, i);
+                if (neighbour == NONE || !this.walkable[neighbour]) {
+                    continue;
+                }
+
+                int newDistance = distance + (i < 4 ? STRAIGHT_COST : DIAGONAL_COST);
+                if (newDistance < this.distances[neighbour]) {
+                    this.distances[neighbour] = newDistance;
+                    this.push(newDistance, neighbour);
+                }
+            }
+        }
+
+        // Point every tile, even solid ones, at its closest walkable neighbour.
+        for (int tile = 0; tile < SIZE * SIZE; tile++) {
+            int nextTile = NONE;
+            int nextDistance = this.distances[tile];
+            for (int i = 0; i < NEIGHBOUR_X.length; i++) {
+                int neighbour = this.getNeighbour(tile % SIZE, tile / SIZE, i);
+                if (neighbour != NONE && this.distances[neighbour] < nextDistance) {
+                    nextTile = neighbour;
+                    nextDistance = this.distances[neighbour];
+                }
+            }
+            this.nextTiles[tile] = nextTile;
+        }
+    }
+
+    /**
+     * This method finds a neighbouring tile that can be stepped to. A diagonal
+     * step is only allowed if both tiles beside it are walkable, so paths do not
+     * cut across the corners of solid tiles.
+     * @param tileX The column of the tile in the area.
+     * @param tileY The row of the tile in the area.
+     * @param i The index of the neighbour.
+     * @return The index of the neighbouring tile, {@code NONE} if it cannot be stepped to.
+     */
+    private int getNeighbour(int tileX, int tileY, int i) {
+        int neighbourX = tileX + NEIGHBOUR_X[i];
+        int neighbourY = tileY + NEIGHBOUR_Y[i];
+        if (neighbourX < 0 || neighbourX >= SIZE || neighbourY < 0 || neighbourY >= SIZE) {
+            return NONE;
+        }
+
+        if (i >= 4 && (!this.walkable[tileY * SIZE + neighbourX]
+                || !this.walkable[neighbourY * SIZE + tileX])) {
+            return NONE;
+        }
+        return neighbourY * SIZE + neighbourX;
+    }
+
+    /**
+     * This method adds a tile to the queue of tiles to visit.
+     * @param distance The distance of the tile from the target.
+     * @param tile The index of the tile.
+     */
+    private void push(int distance, int tile) {
+        long entry = ((long) distance << 32) | tile;
+        int i = this.queueSize;
+        this.queueSize++;
+
+        // Move the entry up until its parent is closer.
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (this.queue[parent] <= entry) {
+                break;
+            }
+            this.queue[i] = this.queue[parent];
+            i = parent;
+        }
+        this.queue[i] = entry;
+    }
+
+    /**
+     * This method removes the closest tile from the queue of tiles to visit.
+     * @return The distance of the tile in the high bits and its index in the low bits.
+     */
+    private long pop() {
+        long top = this.queue[0];
+        this.queueSize--;
+        long last = this.queue[this.queueSize];
+
+        // Move the last entry down until both its children are further.
+        int i = 0;
+        while (i * 2 + 1 < this.queueSize) {
+            int child = i * 2 + 1;
+            if (child + 1 < this.queueSize && this.queue[child + 1] < this.queue[child]) {
+                child++;
+            }
+            if (last <= this.queue[child]) {
+                break;
+            }
+            this.queue[i] = this.queue[child];
+            i = child;
+        }
+        this.queue[i] = last;
+        return top;
+    }
+}
@@ -1,13 +1,10 @@
 import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
-import javax.swing.Timer;
+import javax.swing.SwingUtilities;
 
 import java.util.ArrayList;
-import java.util.Iterator;
 
-import java.awt.event.ActionListener;
-import java.awt.event.ActionEvent;
 import java.awt.event.KeyListener;
 import java.awt.event.KeyEvent;
 import java.awt.event.MouseListener;
@@ -31,24 +28,40 @@ public class Game implements Drawable, Debuggable {
     private Player player;
     private Map map;
     private Minimap minimap;
-    private ArrayList<Enemy> enemies;
+    private Camera camera;
+    private FlowField flowField;
+    private EnemySystem enemies;
+    private int maxEnemies;
     private Window window;
 
-    private Timer updateLoop;
-    private Timer animateLoop;
-    private Timer enemySpawnLoop;
+    private GameLoop gameLoop;
     
+    /**
+     * This constructs a headless {@code Game} object that is not shown in any
+     * window. It can be updated and animated, but it does not switch screens.
+     * @see HeadlessGame
+     */
+    public Game() {
+        this(null);
+    }
+
     /**
      * This constructs a {@code Game} object.
-     * @param window The window that the game takes place in.
+     * @param window The window that the game takes place in, or {@code null} if headless.
      */
     public Game(Window window) {
-        this.map = new Map(Const.MAP_FILE_NAME);
+        this.map = new Map(Const.MAP_PACK_FILE_NAME);
         this.player = new Player(Const.MEDIUM_PLAYER_HEALTH, Const.SWORD_DAMAGE, this.map);
-        this.enemies = new ArrayList<Enemy>();
-
-        this.map.loadFromFile();
-        this.map.updateRendering(this.player.getPos());
+        this.enemies = new EnemySystem(this.player);
+        this.maxEnemies = Const.NUM_MAX_ENEMIES;
+
+        this.map.loadFromPack();
+        this.map.setGenerator(new ChunkGenerator(Const.MAP_SEED));
+        this.map.loadChunksAround(this.player.getPos());
+        this.camera = new Camera(Const.WIDTH, Const.HEIGHT);
+        this.flowField = new FlowField(this.map);
+        this.flowField.update(this.player.getCenter());
+        this.enemies.setFlowField(this.flowField);
         this.minimap = new Minimap(Const.MINIMAP_POS, Const.MINIMAP_WIDTH, 
                 Const.MINIMAP_HEIGHT, Const.MINIMAP_SCALE, this.map, this.player,
                 this.enemies);
@@ -57,23 +70,8 @@ public class Game implements Drawable, Debuggable {
             this.spawnEnemy();
         }
         
-        this.updateLoop = new Timer(Const.UPDATE_PERIOD, new ActionListener() {
-            public void actionPerformed(ActionEvent event) {
-                update();
-            }
-        });
-
-        this.animateLoop = new Timer(Const.ANIMATE_PERIOD, new ActionListener() {
-            public void actionPerformed(ActionEvent event) {
-                animate();
-            }
-        });
-        
-        this.enemySpawnLoop = new Timer(Const.MEDIUM_SPAWN_SPEED, new ActionListener() {
-            public void actionPerformed(ActionEvent event) {
-                spawnEnemy();
-            }
-        });
+        this.gameLoop = new GameLoop(this, Const.UPDATE_PERIOD, Const.ANIMATE_PERIOD, 
+                Const.MEDIUM_SPAWN_SPEED);
 
         this.debugMode = false;
         this.setDifficulty(MEDIUM);
@@ -85,89 +83,70 @@ public class Game implements Drawable, Debuggable {
      * unpauses the game.
      */
     public void run() {
-        this.updateLoop.start();
-        this.animateLoop.start();
-        this.enemySpawnLoop.start();
+        this.gameLoop.start();
     }
 
     /**
      * This method pauses the game. While paused, the game stops drawing and updating.
      */
     public void pause() {
-        this.updateLoop.stop();
-        this.animateLoop.stop();
-        this.enemySpawnLoop.stop();
+        this.gameLoop.stop();
     }
 
     /**
-     * This method updates the entities of the game.
+     * This method updates the entities of the game. It is called by the 
+     * {@code GameLoop} once every update period.
+     * @see GameLoop
      */
-    private void update() {
-        Vector prevPlayerMapPosition = Map.calculateMapPosition(this.player.getPos());
+    public void update() {
+        int prevPlayerMapX = Map.calculateMapCoordinate(this.player.getX());
+        int prevPlayerMapY = Map.calculateMapCoordinate(this.player.getY());
         
         // Update the player.
         this.player.update();
 
-        // Update the enemies.
-        for (Enemy enemy: this.enemies) {
-            enemy.update();
-
-            // Deal player damage onto enemy.
-            if (player.getSword().intersects(enemy.getActiveCycle())) {
-                enemy.takeDamage(player.getSword().getDamage());
-            }
-
-            // Deal enemy damages onto player.
-            if (enemy.getSword().intersects(player.getActiveCycle())) {
-                player.takeDamage((enemy.getSword().getDamage()));
-            }
+        // Update map rendering if player moves to a new chunk or chunks finished loading.
+        if (prevPlayerMapX != Map.calculateMapCoordinate(this.player.getX())
+                || prevPlayerMapY != Map.calculateMapCoordinate(this.player.getY())
+                || this.map.checkRenderingNeeded()) {
+            this.map.updateRendering(this.player.getPos());
         }
 
-        for (Iterator<Enemy> it = this.enemies.iterator(); it.hasNext(); ) {
-            Enemy enemy = it.next();
+        // Find the paths to the player again if it moved onto a new tile.
+        this.flowField.update(this.player.getCenterX(), this.player.getCenterY());
 
-            // Play the enemy death animation.
-            if (!enemy.checkAlive()) {
-                enemy.die();
-            }
-
-            // Remove the enemy once the death animation gets played.
-            if (enemy.checkFullyDead()) {
-                it.remove();
-            }
-        }
-        
-        // Update map rendering if player moves to a new chunk.
-        Vector curPlayerMapPosition = Map.calculateMapPosition(this.player.getPos());
-        if (!prevPlayerMapPosition.equals(curPlayerMapPosition)) {
-            this.map.updateRendering(this.player.getPos());
-        }
+        // Run the enemy systems: movement, then fighting with the player, then removal.
+        this.enemies.update();
+        this.enemies.fight();
+        this.enemies.removeDead();
 
         this.minimap.update();
 
         // Go to the game over screen when the game ends.
-        if (this.checkGameOver()) {
+        if (this.checkGameOver() && this.window != null) {
             this.pause();
-            window.switchToScreen(Const.GAME_OVER_SCREEN_NAME);
+            SwingUtilities.invokeLater(new Runnable() {
+                public void run() {
+                    window.switchToScreen(Const.GAME_OVER_SCREEN_NAME);
+                }
+            });
         }
     }
 
     /**
-     * This method animates the game entities.
+     * This method animates the game entities. It is called by the {@code GameLoop}
+     * once every animation period.
      */
-    private void animate() {
+    public void animate() {
         this.player.animate();
-
-        for (Enemy enemy: this.enemies) {
-            enemy.animate();
-        }
+        this.enemies.animate();
     }
 
     /**
      * This method spawn an enemy into the game with stats based on the game difficulty.
      */
-    private void spawnEnemy() {
-        if (this.enemies.size() >= Const.NUM_MAX_ENEMIES) {
+    public void spawnEnemy() {
+        if (this.enemies.size() >= this.maxEnemies) {
             return;
         }
 
@@ -193,34 +172,47 @@ public class Game implements Drawable, Debuggable {
                 maxHealthPoints = Const.HARD_ENEMY_HEALTH;
                 swordDamagePoints = Const.SWORD_DAMAGE;
         }
-        Enemy newEnemy = new Enemy(randomPos, this.player, maxHealthPoints, swordDamagePoints);
-        this.enemies.add(newEnemy);
+        this.enemies.spawn(randomPos.getX(), randomPos.getY(), maxHealthPoints, swordDamagePoints);
     }
 
     /**
      * This method draws the game entities and map onto a surface. THe player is
-     * always centered.
+     * always centered. Anything outside the view of the camera is skipped. The 
+     * game is locked while drawing so the {@code GameLoop} cannot update it 
+     * halfway through.
      */
     @Override
-    public void draw(Graphics graphics) {
+    public synchronized void draw(Graphics graphics) {
+        this.draw(graphics, 1);
+    }
+
+    /**
+     * This method draws the game entities and map onto a surface partway between
+     * the last update and the next one. The player, the camera following it and
+     * the enemies are drawn between where they were before the last update and
+     * where they are now, so they move smoothly when frames are drawn more often
+     * than the game updates.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param alpha How far the game is between its last update and the next one,
+     *              from {@code 0} to {@code 1}.
+     * @see GameLoop.Renderer#render(double)
+     */
+    public synchronized void draw(Graphics graphics, double alpha) {
         // Center the player in the window.
+        this.camera.centerOn(this.player.getCenterX() + this.player.getDrawOffsetX(alpha),
+                this.player.getCenterY() + this.player.getDrawOffsetY(alpha));
         AffineTransform saveAT = ((Graphics2D) graphics).getTransform();
-        AffineTransform translateCenterPlayer = AffineTransform.getTranslateInstance(
-                Const.WIDTH / 2 - this.player.getCenterX(), Const.HEIGHT / 2 - this.player.getCenterY());
-        ((Graphics2D) graphics).setTransform(translateCenterPlayer);
+        ((Graphics2D) graphics).setTransform(this.camera.getTransform());
 
-        this.map.draw(graphics);
-        this.player.draw(graphics);
-
-        for (Enemy enemy: this.enemies) {
-            enemy.draw(graphics);
-        }
+        this.map.draw(graphics, this.camera);
+        this.player.draw(graphics, alpha);
+        this.enemies.draw(graphics, this.camera, alpha);
         
         // Reset the graphics.
         ((Graphics2D) graphics).setTransform(saveAT);
         
         if (this.checkDebugging()) {
-            this.drawDebugInfo(graphics);
+            this.drawDebugInfo(graphics, this.camera);
         }
         
         this.minimap.draw(graphics);
@@ -232,17 +224,23 @@ public class Game implements Drawable, Debuggable {
     @Override
     public void drawDebugInfo(Graphics graphics) {
         // Center the player in the window.
+        this.camera.centerOn(this.player.getCenterX(), this.player.getCenterY());
+        this.drawDebugInfo(graphics, this.camera);
+    }
+
+    /**
+     * This method draws the hitboxes and other debug information for the game as
+     * seen by a {@code Camera} that is already placed.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param camera The {@code Camera} showing the visible area.
+     */
+    private void drawDebugInfo(Graphics graphics, Camera camera) {
         AffineTransform saveAT = ((Graphics2D) graphics).getTransform();
-        AffineTransform translateCenterPlayer = AffineTransform.getTranslateInstance(
-                Const.WIDTH / 2 - this.player.getCenterX(), Const.HEIGHT / 2 - this.player.getCenterY());
-        ((Graphics2D) graphics).setTransform(translateCenterPlayer);
+        ((Graphics2D) graphics).setTransform(camera.getTransform());
 
         this.map.drawDebugInfo(graphics);
         this.player.drawDebugInfo(graphics);
-
-        for (Enemy enemy: this.enemies) {
-            enemy.drawDebugInfo(graphics);
-        }
+        this.enemies.drawDebugInfo(graphics);
 
         // Reset the graphics.
         ((Graphics2D) graphics).setTransform(saveAT);
@@ -268,6 +266,14 @@ public class Game implements Drawable, Debuggable {
         return this.player;
     }
 
+    public EnemySystem getEnemies() {
+        return this.enemies;
+    }
+
+    public int getNumEnemies() {
+        return this.enemies.size();
+    }
+
     public int getDifficulty() {
         return this.difficulty;
     }
@@ -280,7 +286,7 @@ public class Game implements Drawable, Debuggable {
      * This method sets the difficulty for the game.
      * @param difficulty The new game difficulty.
      */
-    public void setDifficulty(int difficulty) {
+    public synchronized void setDifficulty(int difficulty) {
         if (difficulty != EASY && difficulty != MEDIUM && difficulty != HARD) {
             return;
         }
@@ -289,31 +295,49 @@ public class Game implements Drawable, Debuggable {
         // Change the stats for all game entities.
         switch (difficulty) {
             case EASY:
-                this.enemySpawnLoop.setDelay(Const.EASY_SPAWN_SPEED);
+                this.gameLoop.setSpawnPeriod(Const.EASY_SPAWN_SPEED);
                 this.player.setMaxHealthPoints(Const.EASY_PLAYER_HEALTH);
-                for (Enemy enemy: this.enemies) {
-                    enemy.setMaxHealthPoints(Const.EASY_ENEMY_HEALTH);
-                }
+                this.enemies.setMaxHealthPoints(Const.EASY_ENEMY_HEALTH);
                 break;
             case MEDIUM:
-                this.enemySpawnLoop.setDelay(Const.MEDIUM_SPAWN_SPEED);
+                this.gameLoop.setSpawnPeriod(Const.MEDIUM_SPAWN_SPEED);
                 this.player.setMaxHealthPoints(Const.MEDIUM_PLAYER_HEALTH);
-                for (Enemy enemy: this.enemies) {
-                    enemy.setMaxHealthPoints(Const.MEDIUM_ENEMY_HEALTH);
-                }
+                this.enemies.setMaxHealthPoints(Const.MEDIUM_ENEMY_HEALTH);
                 break;
             case HARD: 
-                this.enemySpawnLoop.setDelay(Const.HARD_SPAWN_SPEED);
+                this.gameLoop.setSpawnPeriod(Const.HARD_SPAWN_SPEED);
                 this.player.setMaxHealthPoints(Const.HARD_PLAYER_HEALTH);
-                for (Enemy enemy: this.enemies) {
-                    enemy.setMaxHealthPoints(Const.HARD_ENEMY_HEALTH);
-                }
+                this.enemies.setMaxHealthPoints(Const.HARD_ENEMY_HEALTH);
                 break;
         }
     }
 
+    /**
+     * This method sets the object that draws the game every frame from the
+     * {@code GameLoop} thread.
+     * @param renderer The renderer to use, or {@code null} to not draw.
+     */
+    public void setRenderer(GameLoop.Renderer renderer) {
+        this.gameLoop.setRenderer(renderer);
+    }
+
+    /**
+     * This method sets the frames-per-second the game gets drawn at while it is
+     * running. If the FPS is not positive, nothing happens.
+     * @param fps The FPS the game should be drawn at.
+     */
+    public void setFPS(int fps) {
+        if (fps > 0) {
+            this.gameLoop.setFramePeriod(Const.MS_PER_S / fps);
+        }
+    }
+
+    public void setMaxEnemies(int maxEnemies) {
+        this.maxEnemies = maxEnemies;
+    }
+
     public void setUpdatePeriod(int updatePeriod) {
-        this.updateLoop.setDelay(updatePeriod);
+        this.gameLoop.setUpdatePeriod(updatePeriod);
     }
 
     /**
@@ -331,8 +355,10 @@ public class Game implements Drawable, Debuggable {
         }
 
         public void keyPressed(KeyEvent event) {
-            for (KeyListener keyListener: this.keyListeners) {
-                keyListener.keyPressed(event);
+            synchronized (Game.this) {
+                for (KeyListener keyListener: this.keyListeners) {
+                    keyListener.keyPressed(event);
+                }
             }
             // Pause the game when the pause key is pressed
             int keyCode = event.getKeyCode();
@@ -342,14 +368,18 @@ public class Game implements Drawable, Debuggable {
             }
         }
         public void keyTyped(KeyEvent event) {
-            for (KeyListener keyListener: this.keyListeners) {
-                keyListener.keyTyped(event);
+            synchronized (Game.this) {
+                for (KeyListener keyListener: this.keyListeners) {
+                    keyListener.keyTyped(event);
+                }
             }
         }
 
         public void keyReleased(KeyEvent event) {
-            for (KeyListener keyListener: this.keyListeners) {
-                keyListener.keyReleased(event);
+            synchronized (Game.this) {
+                for (KeyListener keyListener: this.keyListeners) {
+                    keyListener.keyReleased(event);
+                }
             }
         }
     }
@@ -370,36 +400,46 @@ public class Game implements Drawable, Debuggable {
 
         @Override
         public void mouseClicked(MouseEvent event) {
-            for (MouseListener mouseListener: this.mouseListeners) {
-                mouseListener.mouseClicked(event);
+            synchronized (Game.this) {
+                for (MouseListener mouseListener: this.mouseListeners) {
+                    mouseListener.mouseClicked(event);
+                }
             }
         }
 
         @Override
         public void mousePressed(MouseEvent event) {
-            for (MouseListener mouseListener: this.mouseListeners) {
-                mouseListener.mousePressed(event);
+            synchronized (Game.this) {
+                for (MouseListener mouseListener: this.mouseListeners) {
+                    mouseListener.mousePressed(event);
+                }
             }
         }
 
         @Override
         public void mouseReleased(MouseEvent event) {
-            for (MouseListener mouseListener: this.mouseListeners) {
-                mouseListener.mouseReleased(event);
+            synchronized (Game.this) {
+                for (MouseListener mouseListener: this.mouseListeners) {
+                    mouseListener.mouseReleased(event);
+                }
             }
         }
 
         @Override
         public void mouseEntered(MouseEvent event) {
-            for (MouseListener mouseListener: this.mouseListeners) {
-                mouseListener.mouseEntered(event);
+            synchronized (Game.this) {
+                for (MouseListener mouseListener: this.mouseListeners) {
+                    mouseListener.mouseEntered(event);
+                }
             }
         }
 
         @Override
         public void mouseExited(MouseEvent event) {
-            for (MouseListener mouseListener: this.mouseListeners) {
-                mouseListener.mouseExited(event);
+            synchronized (Game.this) {
+                for (MouseListener mouseListener: this.mouseListeners) {
+                    mouseListener.mouseExited(event);
+                }
             }
         }
     }
@@ -420,15 +460,19 @@ public class Game implements Drawable, Debuggable {
 
         @Override
         public void mouseDragged(MouseEvent event) {
-            for (MouseMotionListener motionListener: this.motionListeners) {
-                motionListener.mouseDragged(event);
+            synchronized (Game.this) {
+                for (MouseMotionListener motionListener: this.motionListeners) {
+                    motionListener.mouseDragged(event);
+                }
             }
         }
 
         @Override
         public void mouseMoved(MouseEvent event) {
-            for (MouseMotionListener motionListener: this.motionListeners) {
-                motionListener.mouseMoved(event);
+            synchronized (Game.this) {
+                for (MouseMotionListener motionListener: this.motionListeners) {
+                    motionListener.mouseMoved(event);
+                }
             }
         }
     }
@@ -0,0 +1,182 @@
+/**
+ * This class runs the {@code Game} on its own thread using a fixed timestep.
+ * Real time is collected into an accumulator and consumed in steps of the update
+ * period, so the game updates at a steady rate no matter how long drawing takes.
+ * Animation and enemy spawning are sub-steps of the same clock. If a 
+ * {@code Renderer} is set, the loop also draws frames at the frame period.
+ * @see Game
+ */
+public class GameLoop implements Runnable {
+    // The most updates to run at once before dropping time, so a long stall does not snowball.
+    private static final int MAX_UPDATES_PER_LOOP = 5;
+
+    private Game game;
+    private Renderer renderer;
+    private Thread thread;
+    private volatile boolean running;
+
+    private long updatePeriod;
+    private long animatePeriod;
+    private long spawnPeriod;
+    private long framePeriod;
+
+    private long updateLag;
+    private long animateLag;
+    private long spawnLag;
+
+    /**
+     * This constructs a {@code GameLoop} object that is not yet running.
+     * @param game The {@code Game} to update.
+     * @param updatePeriod The duration between game updates in milliseconds.
+     * @param animatePeriod The duration between animation frames in milliseconds.
+     * @param spawnPeriod The duration between enemy spawns in milliseconds.
+     */
+    public GameLoop(Game game, int updatePeriod, int animatePeriod, int spawnPeriod) {
+        this.game = game;
+        this.renderer = null;
+        this.thread = null;
+        this.running = false;
+        this.setUpdatePeriod(updatePeriod);
+        this.setAnimatePeriod(animatePeriod);
+        this.setSpawnPeriod(spawnPeriod);
+        this.setFramePeriod(Const.DEFAULT_FRAME_PERIOD);
+    }
+
+    /**
+     * This method starts the loop on a new thread. If the loop is already running,
+     * nothing happens.
+     */
+    public void start() {
+        if (this.running) {
+            return;
+        }
+
+        this.running = true;
+        this.updateLag = 0;
+        this.thread = new Thread(this, "Game Loop");
+        this.thread.setDaemon(true);
+        this.thread.start();
+    }
+
+    /**
+     * This method stops the loop. When called from another thread, it waits
+     * for the update in progress to finish.
+     */
+    public void stop() {
+        this.running = false;
+
+        if (this.thread != null && Thread.currentThread() != this.thread) {
+            try {
+                this.thread.join();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * This method runs the fixed timestep loop until it is stopped.
+     */
+    @Override
+    public void run() {
+        long prevTime = System.nanoTime();
+        long nextFrameTime = prevTime;
+
+        while (this.running) {
+            long curTime = System.nanoTime();
+            this.updateLag += Math.min(curTime - prevTime, this.updatePeriod * MAX_UPDATES_PER_LOOP);
+            prevTime = curTime;
+
+            // Consume the collected time in fixed steps.
+            while (this.running && this.updateLag >= this.updatePeriod) {
+                this.step();
+                this.updateLag -= this.updatePeriod;
+            }
+
+            // Draw a frame when one is due, partway between the last update and the next.
+            if (this.running && this.renderer != null && curTime - nextFrameTime >= 0) {
+                this.renderer.render((double) this.updateLag / this.updatePeriod);
+                nextFrameTime = Math.max(nextFrameTime + this.framePeriod, curTime);
+            }
+
+            // Sleep until the next update or frame is due.
+            long waitTime = this.updatePeriod - this.updateLag;
+            if (this.renderer != null) {
+                waitTime = Math.min(waitTime, nextFrameTime - System.nanoTime());
+            }
+            long sleepTime = waitTime / Const.NS_PER_MS;
+            if (sleepTime > 0) {
+                try {
+                    Thread.sleep(sleepTime);
+                } catch (InterruptedException ex) {
+                    this.running = false;
+                }
+            }
+        }
+    }
+
+    /**
+     * This method advances the game by one update period. Animation and spawning
+     * run whenever enough game time has passed for them. It can be called directly
+     * to step the game without the loop thread.
+     */
+    public void step() {
+        synchronized (this.game) {
+            this.game.update();
+
+            this.animateLag += this.updatePeriod;
+            while (this.animateLag >= this.animatePeriod) {
+                this.game.animate();
+                this.animateLag -= this.animatePeriod;
+            }
+
+            this.spawnLag += this.updatePeriod;
+            while (this.spawnLag >= this.spawnPeriod) {
+                this.game.spawnEnemy();
+                this.spawnLag -= this.spawnPeriod;
+            }
+        }
+    }
+
+    /**
+     * This method checks if the loop is running.
+     * @return {@code true} if it is running, {@code false} otherwise.
+     */
+    public boolean checkRunning() {
+        return this.running;
+    }
+
+    public void setRenderer(Renderer renderer) {
+        this.renderer = renderer;
+    }
+
+    public void setUpdatePeriod(int updatePeriod) {
+        this.updatePeriod = (long) updatePeriod * Const.NS_PER_MS;
+    }
+
+    public void setAnimatePeriod(int animatePeriod) {
+        this.animatePeriod = (long) animatePeriod * Const.NS_PER_MS;
+    }
+
+    public void setSpawnPeriod(int spawnPeriod) {
+        this.spawnPeriod = (long) spawnPeriod * Const.NS_PER_MS;
+    }
+
+    public void setFramePeriod(int framePeriod) {
+        this.framePeriod = (long) framePeriod * Const.NS_PER_MS;
+    }
+
+    /**
+     * This interface contains the required methods for an object that draws
+     * the game from the {@code GameLoop} thread.
+     */
+    public interface Renderer {
+        /**
+         * This method draws one frame of the game.
+         * @param alpha How far the loop is between the last update and the next
+         *              one, from {@code 0} to {@code 1}, for interpolating between
+         *              game states.
+         */
+        public void render(double alpha);
+    }
+}
@@ -1,10 +1,28 @@
 import java.awt.Graphics;
+import java.awt.Canvas;
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.Toolkit;
+import java.awt.BufferCapabilities;
+import java.awt.ImageCapabilities;
+import java.awt.image.BufferStrategy;
+
+import java.awt.AWTException;
 
 /**
- * This class represents the canvas that the main game is drawn onto.
+ * This class represents the canvas that the main game is drawn onto. Unlike the
+ * other screens, it is actively rendered: the {@code GameLoop} draws each frame
+ * into a {@code BufferStrategy} and flips it onto the screen, instead of waiting
+ * for the window to repaint.
+ * @see GameLoop
  */
-public class GameScreen extends Screen {
+public class GameScreen extends Screen implements GameLoop.Renderer {
+    // The number of buffers to draw with, including the one on screen.
+    private static final int NUM_BUFFERS = 2;
+
     private Game game;
+    private Canvas canvas;
+    private BufferStrategy bufferStrategy;
 
     /**
      * This constructs a {@code GameScreen} object. It has listeners for the various
@@ -19,17 +37,69 @@ public class GameScreen extends Screen {
 
         this.setName(Const.GAME_SCREEN_NAME);
 
+        // Set up the canvas the game gets drawn onto. The screen keeps keyboard focus.
+        this.canvas = new Canvas();
+        this.canvas.setPreferredSize(new Dimension(Const.WIDTH, Const.HEIGHT));
+        this.canvas.setIgnoreRepaint(true);
+        this.canvas.setFocusable(false);
+        this.bufferStrategy = null;
+
+        this.setLayout(new BorderLayout());
+        this.add(this.canvas, BorderLayout.CENTER);
+
         // Add game listeners.
         this.addKeyListener(game.new GameKeyListener());
-        this.addMouseListener(game.new GameMouseListener());
-        this.addMouseMotionListener(game.new GameMouseMotionListener());
+        this.canvas.addMouseListener(game.new GameMouseListener());
+        this.canvas.addMouseMotionListener(game.new GameMouseMotionListener());
+
+        this.game.setRenderer(this);
     }
 
     /**
-     * This method draws the game onto this {@code GameScreen}.
+     * This method draws the game onto the canvas and shows it. It does nothing
+     * while this {@code GameScreen} is not visible.
      */
     @Override
-    public void paintComponent(Graphics graphics) {
-        this.game.draw(graphics);
+    public void render(double alpha) {
+        if (!this.canvas.isShowing()) {
+            return;
+        }
+
+        if (this.bufferStrategy == null) {
+            this.createBufferStrategy();
+        }
+
+        // Redraw the frame until it was not lost while drawing or showing it.
+        do {
+            do {
+                Graphics graphics = this.bufferStrategy.getDrawGraphics();
+                try {
+                    graphics.setColor(Const.BLACK);
+                    graphics.fillRect(0, 0, Const.WIDTH, Const.HEIGHT);
+                    this.game.draw(graphics, alpha);
+                } finally {
+                    graphics.dispose();
+                }
+            } while (this.bufferStrategy.contentsRestored());
+
+            this.bufferStrategy.show();
+        } while (this.bufferStrategy.contentsLost());
+
+        Toolkit.getDefaultToolkit().sync();
+    }
+
+    /**
+     * This method creates the buffers for the canvas. It uses accelerated page
+     * flipping if it is available, and falls back on copying the back buffer.
+     */
+    private void createBufferStrategy() {
+        BufferCapabilities flipCapabilities = new BufferCapabilities(new ImageCapabilities(true),
+                new ImageCapabilities(true), BufferCapabilities.FlipContents.UNDEFINED);
+        try {
+            this.canvas.createBufferStrategy(NUM_BUFFERS, flipCapabilities);
+        } catch (AWTException ex) {
+            this.canvas.createBufferStrategy(NUM_BUFFERS);
+        }
+        this.bufferStrategy = this.canvas.getBufferStrategy();
     }
 }
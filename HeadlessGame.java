@@ -0,0 +1,124 @@
+/**
+ * This class runs the game simulation without a window or any drawing. It is used
+ * to soak test and measure the simulation on machines with no display. The player
+ * is healed after every update so the run does not end early.
+ * <p>It is run from the command line as follows with values substituted in.</p>
+ * <pre>{@code
+ * java HeadlessGame numEnemies numTicks ticksPerSecond
+ * }</pre>
+ * A {@code ticksPerSecond} of {@code 0} steps the game as fast as possible.
+ * @see Game
+ */
+public class HeadlessGame {
+    private static final int DEFAULT_NUM_ENEMIES = Const.NUM_MAX_ENEMIES;
+    private static final int DEFAULT_NUM_TICKS = 2000;
+    private static final int DEFAULT_TICKS_PER_SECOND = 0;
+
+    private Game game;
+    private GameLoop gameLoop;
+    private int numEnemies;
+
+    /**
+     * This constructs a {@code HeadlessGame} object with a set number of enemies.
+     * @param numEnemies The number of enemies to fill the game with.
+     */
+    public HeadlessGame(int numEnemies) {
+        this.game = new Game();
+        this.gameLoop = new GameLoop(this.game, Const.UPDATE_PERIOD, Const.ANIMATE_PERIOD,
+                Const.MEDIUM_SPAWN_SPEED);
+        this.numEnemies = numEnemies;
+
+        this.game.setMaxEnemies(numEnemies);
+        while (this.game.getNumEnemies() < numEnemies) {
+            this.game.spawnEnemy();
+        }
+    }
+
+    /**
+     * This method advances the game by one update period and keeps the player alive.
+     */
+    public void step() {
+        this.gameLoop.step();
+
+        if (this.game.checkGameOver()) {
+            this.game.getPlayer().setMaxHealthPoints(Const.MEDIUM_PLAYER_HEALTH);
+        }
+    }
+
+    /**
+     * This method steps the game a number of times and prints the tick rate and
+     * time per tick.
+     * @param numTicks The number of updates to run.
+     * @param ticksPerSecond The rate to run updates at, or {@code 0} to run as fast as possible.
+     */
+    public void run(int numTicks, int ticksPerSecond) {
+        long tickPeriod = 0;
+        if (ticksPerSecond > 0) {
+            tickPeriod = Const.MS_PER_S * Const.NS_PER_MS / ticksPerSecond;
+        }
+
+        long totalTickTime = 0;
+        long maxTickTime = 0;
+        long startTime = System.nanoTime();
+        long nextTickTime = startTime;
+
+        for (int i = 0; i < numTicks; i++) {
+            // Wait for the next tick when running at a fixed rate.
+            long sleepTime = (nextTickTime - System.nanoTime()) / Const.NS_PER_MS;
+            if (sleepTime > 0) {
+                try {
+                    Thread.sleep(sleepTime);
+                } catch (InterruptedException ex) {
+                    break;
+                }
+            }
+            nextTickTime += tickPeriod;
+
+            long tickStartTime = System.nanoTime();
+            this.step();
+            long tickTime = System.nanoTime() - tickStartTime;
+
+            totalTickTime += tickTime;
+            maxTickTime = Math.max(maxTickTime, tickTime);
+        }
+
+        double elapsedSeconds = (System.nanoTime() - startTime) / (double) (Const.MS_PER_S * Const.NS_PER_MS);
+        double nsPerMs = Const.NS_PER_MS;
+        System.out.println("Enemies: " + this.numEnemies + " (" + this.game.getNumEnemies() + " alive)");
+        System.out.println("Ticks: " + numTicks + " in " + Math.round(elapsedSeconds * 1000) / 1000.0 + " s");
+        System.out.println("Ticks per second: " + Math.round(numTicks / elapsedSeconds * 10) / 10.0);
+        System.out.println("Average time per tick: " + Math.round(totalTickTime / nsPerMs / numTicks * 1000) / 1000.0 + " ms");
+        System.out.println("Max time per tick: " + Math.round(maxTickTime / nsPerMs * 1000) / 1000.0 + " ms");
+        System.out.println(this.game.getEnemies());
+    }
+
+    public Game getGame() {
+        return this.game;
+    }
+
+    public static void main(String[] args) {
+        // There is no display to draw to.
+        System.setProperty("java.awt.headless", "true");
+
+        int numEnemies = DEFAULT_NUM_ENEMIES;
+        int numTicks = DEFAULT_NUM_TICKS;
+        int ticksPerSecond = DEFAULT_TICKS_PER_SECOND;
+        try {
+            if (args.length > 0) {
+                numEnemies = Integer.parseInt(args[0]);
+            }
+            if (args.length > 1) {
+                numTicks = Integer.parseInt(args[1]);
+            }
+            if (args.length > 2) {
+                ticksPerSecond = Integer.parseInt(args[2]);
+            }
+        } catch (NumberFormatException ex) {
+            System.out.println("Usage: java HeadlessGame numEnemies numTicks ticksPerSecond");
+            return;
+        }
+
+        HeadlessGame headlessGame = new HeadlessGame(numEnemies);
+        headlessGame.run(numTicks, ticksPerSecond);
+    }
+}
@@ -24,7 +24,7 @@ public class HealthBar implements Drawable {
     public HealthBar(Vector position, int maxPoints, int width, int height) {
         this.curPoints = maxPoints;
         this.maxPoints = maxPoints;
-        this.position = position;
+        this.position = position.clone();
         this.width = width;
         this.height = height;
     }
@@ -64,7 +64,17 @@ public class HealthBar implements Drawable {
     }
 
     public void setPos(Vector pos) {
-        this.position = pos;
+        this.position.set(pos);
+    }
+
+    /**
+     * This method moves this {@code HealthBar} without needing a {@code Vector}
+     * for the new position.
+     * @param x The new top-left x-coordinate.
+     * @param y The new top-left y-coordinate.
+     */
+    public void setPos(double x, double y) {
+        this.position.set(x, y);
     }
 
     /**
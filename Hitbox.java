@@ -44,7 +44,7 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
         this.rect = new Rectangle((int) position.getX(), (int) position.getY(), 
                 width, height);
         this.color = Const.RED;
-        this.position = position;
+        this.position = position.clone();
         this.width = width;
         this.height = height;
     }
@@ -107,7 +107,18 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
      * @param newPos The new postion of this {@code Hitbox}.
      */
     public void setPos(Vector newPos) {
-        this.position = newPos;
+        this.position.set(newPos);
+        this.rect = null;
+    }
+
+    /**
+     * This method sets the position of this {@code Hitbox} without needing a
+     * {@code Vector} for the new position.
+     * @param x The new top-left x-coordinate.
+     * @param y The new top-left y-coordinate.
+     */
+    public void setPos(double x, double y) {
+        this.position.set(x, y);
         this.rect = null;
     }
 
@@ -183,6 +194,6 @@ public class Hitbox implements Drawable, Debuggable, Collidable {
 
     @Override
     public Hitbox clone() {
-        return new Hitbox(this.position.clone(), this.getWidth(), this.getHeight());
+        return new Hitbox(this.position, this.getWidth(), this.getHeight());
     }
 }
@@ -2,9 +2,22 @@ import java.awt.Graphics;
 
 import java.io.FileReader;
 import java.io.BufferedReader;
+import java.io.FileOutputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
 
 import java.io.IOException;
 import java.io.FileNotFoundException;
@@ -12,14 +25,58 @@ import java.io.FileNotFoundException;
 /**
  * This class represents the game map storing the position of all tiles and chunks
  * in the game.
+ * <p>A map loaded from a map pack streams its chunks. Chunks are loaded on
+ * background threads once the camera comes within {@code STREAM_DISTANCE} of them,
+ * and the least recently used chunks out of range are dropped from memory once
+ * more than {@code MAX_RESIDENT_CHUNKS} are kept. Updating never waits for a
+ * chunk to load; a placeholder is drawn in its place until it is ready.</p>
+ * <p>If the map has a {@code ChunkGenerator}, chunks that are in neither the map
+ * files nor the map pack are generated the same way, so the map never ends.</p>
  */
 public class Map implements Drawable, Debuggable {
     // The number of chunks away from the player to render.
     public static final int RENDER_DISTANCE = 2;
+    // The number of chunks away from the player to start loading or generating chunks.
+    // Moving one chunk, even diagonally, only brings chunks into render distance that
+    // were already in stream distance, so they have a whole chunk of walking to load.
+    public static final int STREAM_DISTANCE = RENDER_DISTANCE + 2;
+    // The most streamed chunks kept in memory. It must fit every chunk in stream
+    // distance of the camera before and after it moves to a new chunk.
+    public static final int MAX_RESIDENT_CHUNKS = 96;
+    // The number of threads loading and generating chunks, leaving one for the game.
+    private static final int NUM_CHUNK_LOADERS =
+            Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+
+    // The map pack format. The header holds the magic number, version, chunk
+    // length and number of chunks. Each chunk then has an index entry holding its
+    // map position and the position of its tiles in the pack.
+    public static final int PACK_MAGIC = 0x4154534D;
+    public static final int PACK_VERSION = 1;
+    private static final int PACK_HEADER_SIZE = 4 * Integer.BYTES;
+    private static final int PACK_ENTRY_SIZE = 3 * Integer.BYTES;
 
     private String fileName;
-    private ArrayList<Chunk> unactiveChunks;
+    private ChunkIndex chunks;
     private ArrayList<Chunk> activeChunks;
+    // The number of times chunks were loaded or unloaded.
+    private int numActiveChanges;
+
+    // The map pack chunks are streamed from, and the tile offset of each of its chunks.
+    private MappedByteBuffer pack;
+    private HashMap<Long, Integer> packTileOffsets;
+    private ChunkGenerator generator;
+    private ExecutorService chunkLoader;
+    // Chunks finished loading in the background, waiting to be added on the update thread.
+    private LinkedBlockingQueue<Chunk> loadedChunks;
+    private HashSet<Long> loadingKeys;
+    // The streamed chunks in memory, from least to most recently used.
+    private LinkedHashMap<Long, Chunk> residentChunks;
+    // The map positions in render distance of chunks that are still loading.
+    private ArrayList<Long> placeholderKeys;
+    // The camera map position when chunks were last streamed, and whether to stream again.
+    private int streamMapX;
+    private int streamMapY;
+    private boolean streamNeeded;
 
     /**
      * This constructs a {@code Map} object using data from a file.
@@ -28,8 +85,19 @@ public class Map implements Drawable, Debuggable {
      */
     public Map(String mapFileName) {
         this.fileName = mapFileName;
-        this.unactiveChunks = new ArrayList<Chunk>();
+        this.chunks = new ChunkIndex();
         this.activeChunks = new ArrayList<Chunk>();
+        this.numActiveChanges = 0;
+
+        this.pack = null;
+        this.packTileOffsets = new HashMap<Long, Integer>();
+        this.generator = null;
+        this.chunkLoader = null;
+        this.loadedChunks = new LinkedBlockingQueue<Chunk>();
+        this.loadingKeys = new HashSet<Long>();
+        this.residentChunks = new LinkedHashMap<Long, Chunk>(MAX_RESIDENT_CHUNKS * 2, 0.75f, true);
+        this.placeholderKeys = new ArrayList<Long>();
+        this.streamNeeded = true;
     }
 
     /**
@@ -65,7 +133,9 @@ public class Map implements Drawable, Debuggable {
                 String chunkFileName = input.readLine();
                 Chunk newChunk = new Chunk(chunkFileName);
                 newChunk.loadFromFile();
-                this.unactiveChunks.add(newChunk);
+                if (newChunk.checkLoaded()) {
+                    this.chunks.put(newChunk);
+                }
             }
         } catch (IOException ex) {
             System.out.println("Error: Could not read map file.");
@@ -81,32 +151,347 @@ public class Map implements Drawable, Debuggable {
         }
     }
 
+    /**
+     * This method opens a map pack file to stream chunks from. The file is mapped
+     * into memory and only its index is read here. Each chunk reads its tiles
+     * straight from the mapping once it is needed, so there is only one file to
+     * open and no text to parse. The pack is formatted as follows,
+     * with every {@code int} stored big-endian:
+     * <pre>{@code
+     * int PACK_MAGIC
+     * int PACK_VERSION
+     * int Chunk.LENGTH
+     * int numChunks
+     * int mapX, int mapY, int tileOffset    (once for each chunk)
+     * byte[Chunk.LENGTH * Chunk.LENGTH] tileTypeIds    (once for each chunk)
+     * }</pre>
+     * If an error occurs while reading the file, a relevant error message will be provided.
+     * @see Map#saveToPack(String)
+     * @see Chunk#loadFromPack
+     */
+    public void loadFromPack() {
+        // Open map pack file.
+        RandomAccessFile packFile;
+        try {
+            packFile = new RandomAccessFile(this.fileName, "r");
+        } catch (FileNotFoundException ex) {
+            System.out.println("Error: Map pack file not found. [" + this.fileName + "]");
+            return;
+        }
+
+        // Map the file into memory.
+        MappedByteBuffer pack = null;
+        try {
+            FileChannel channel = packFile.getChannel();
+            pack = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        } catch (IOException ex) {
+            System.out.println("Error: Could not read map pack file.");
+        }
+
+        // Close map pack file. The mapping stays valid once the file is closed.
+        try {
+            packFile.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Map pack file cannot be closed.");
+        }
+
+        if (pack == null) {
+            return;
+        }
+
+        // Read the chunk index.
+        try {
+            if (pack.getInt(0) != PACK_MAGIC || pack.getInt(4) != PACK_VERSION
+                    || pack.getInt(8) != Chunk.LENGTH) {
+                System.out.println("Error: Incorrect map pack format. [" + this.fileName + "]");
+                return;
+            }
+
+            int numChunks = pack.getInt(12);
+            for (int i = 0; i < numChunks; i++) {
+                int entry = PACK_HEADER_SIZE + i * PACK_ENTRY_SIZE;
+                int tileOffset = pack.getInt(entry + 8);
+                if (tileOffset < 0 || tileOffset + Chunk.LENGTH * Chunk.LENGTH > pack.limit()) {
+                    throw new IndexOutOfBoundsException();
+                }
+                this.packTileOffsets.put(ChunkIndex.toKey(pack.getInt(entry), pack.getInt(entry + 4)),
+                        tileOffset);
+            }
+        } catch (IndexOutOfBoundsException ex) {
+            System.out.println("Error: Incomplete map pack file. [" + this.fileName + "]");
+        }
+
+        this.pack = pack;
+        this.streamNeeded = true;
+    }
+
+    /**
+     * This method loads and unloads chunks around the camera and waits for every
+     * chunk in stream distance to finish loading. It is used before the game
+     * starts, when there is no update tick to hold up.
+     * @param cameraRealPosition The real position of the camera.
+     * @see Map#updateRendering(Vector)
+     */
+    public void loadChunksAround(Vector cameraRealPosition) {
+        this.updateRendering(cameraRealPosition);
+        try {
+            while (!this.loadingKeys.isEmpty()) {
+                this.addLoadedChunk(this.loadedChunks.take());
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+        this.updateRendering(cameraRealPosition);
+    }
+
+    /**
+     * This method starts loading the chunks from the map pack, or generating the
+     * chunks missing from it, that are in stream distance of the camera. It drops
+     * the least recently used chunks once too many are in memory. It only looks at
+     * the chunks again when the camera moves to a different chunk, or when chunks
+     * that finished loading get added on the next update.
+     * @see Map#checkRenderingNeeded()
+     * @param cameraMapX The map x-coordinate of the camera.
+     * @param cameraMapY The map y-coordinate of the camera.
+     */
+    private void streamChunks(int cameraMapX, int cameraMapY) {
+        // Add the chunks that finished loading in the background.
+        Chunk loadedChunk = this.loadedChunks.poll();
+        while (loadedChunk != null) {
+            this.addLoadedChunk(loadedChunk);
+            loadedChunk = this.loadedChunks.poll();
+        }
+
+        if (!this.streamNeeded && cameraMapX == this.streamMapX && cameraMapY == this.streamMapY) {
+            return;
+        }
+        this.streamNeeded = false;
+        this.streamMapX = cameraMapX;
+        this.streamMapY = cameraMapY;
+        this.placeholderKeys.clear();
+
+        // Use the chunks in range, or start loading them.
+        for (int dy = -Map.STREAM_DISTANCE; dy <= Map.STREAM_DISTANCE; dy++) {
+            for (int dx = -Map.STREAM_DISTANCE; dx <= Map.STREAM_DISTANCE; dx++) {
+                if (dx * dx + dy * dy > Map.STREAM_DISTANCE * Map.STREAM_DISTANCE) {
+                    continue;
+                }
+
+                int mapX = cameraMapX + dx;
+                int mapY = cameraMapY + dy;
+                Long key = ChunkIndex.toKey(mapX, mapY);
+                if (this.chunks.get(mapX, mapY) != null) {
+                    // Mark the chunk as recently used.
+                    this.residentChunks.get(key);
+                    continue;
+                }
+
+                Integer tileOffset = this.packTileOffsets.get(key);
+                if (tileOffset == null && this.generator == null) {
+                    continue;
+                }
+
+                if (!this.loadingKeys.contains(key)) {
+                    this.loadingKeys.add(key);
+                    if (tileOffset != null) {
+                        this.loadChunk(mapX, mapY, tileOffset);
+                    } else {
+                        this.generateChunk(mapX, mapY);
+                    }
+                }
+                if (dx * dx + dy * dy <= Map.RENDER_DISTANCE * Map.RENDER_DISTANCE) {
+                    this.placeholderKeys.add(key);
+                }
+            }
+        }
+
+        // Drop the least recently used chunks that are not active.
+        Iterator<Chunk> it = this.residentChunks.values().iterator();
+        while (this.residentChunks.size() > MAX_RESIDENT_CHUNKS && it.hasNext()) {
+            Chunk chunk = it.next();
+            if (!chunk.checkActive()) {
+                it.remove();
+                this.chunks.remove(chunk.getMapX(), chunk.getMapY());
+            }
+        }
+    }
+
+    /**
+     * This method loads a chunk from the map pack on a background thread. The
+     * chunk is added to the map by the update thread once it is ready.
+     * @param mapX The map x-coordinate of the chunk.
+     * @param mapY The map y-coordinate of the chunk.
+     * @param tileOffset The position in the pack of the first tile of the chunk.
+     */
+    private void loadChunk(final int mapX, final int mapY, final int tileOffset) {
+        final MappedByteBuffer pack = this.pack;
+        final String packFileName = this.fileName;
+        this.getChunkLoader().execute(new Runnable() {
+            public void run() {
+                Chunk newChunk = new Chunk(packFileName);
+                newChunk.loadFromPack(pack, mapX, mapY, tileOffset);
+                loadedChunks.add(newChunk);
+            }
+        });
+    }
+
+    /**
+     * This method generates a chunk on a background thread. The chunk is added to
+     * the map by the update thread once it is ready.
+     * @param mapX The map x-coordinate of the chunk.
+     * @param mapY The map y-coordinate of the chunk.
+     */
+    private void generateChunk(final int mapX, final int mapY) {
+        final ChunkGenerator generator = this.generator;
+        this.getChunkLoader().execute(new Runnable() {
+            public void run() {
+                Chunk newChunk = new Chunk(null);
+                newChunk.loadFromGenerator(generator, mapX, mapY);
+                loadedChunks.add(newChunk);
+            }
+        });
+    }
+
+    /**
+     * This method gets the pool of threads that load and generate chunks, starting
+     * it the first time it is needed.
+     * @return The {@code ExecutorService} running the chunk loaders.
+     */
+    private ExecutorService getChunkLoader() {
+        if (this.chunkLoader == null) {
+            this.chunkLoader = Executors.newFixedThreadPool(NUM_CHUNK_LOADERS, new ThreadFactory() {
+                private int numThreads = 0;
+
+                public Thread newThread(Runnable task) {
+                    this.numThreads++;
+                    Thread thread = new Thread(task, "Chunk Loader " + this.numThreads);
+                    thread.setDaemon(true);
+                    return thread;
+                }
+            });
+        }
+        return this.chunkLoader;
+    }
+
+    /**
+     * This method adds a chunk that finished loading to the chunks in memory.
+     * @param chunk The loaded chunk.
+     */
+    private void addLoadedChunk(Chunk chunk) {
+        Long key = ChunkIndex.toKey(chunk.getMapX(), chunk.getMapY());
+        this.loadingKeys.remove(key);
+        this.chunks.put(chunk);
+        this.residentChunks.put(key, chunk);
+        this.streamNeeded = true;
+    }
+
+    /**
+     * This method saves all the chunks in memory to a map pack file.
+     * @param packFileName The name of the map pack file to create.
+     * @see Map#loadFromPack()
+     */
+    public void saveToPack(String packFileName) {
+        // Create map pack file.
+        DataOutputStream output;
+        try {
+            output = new DataOutputStream(new BufferedOutputStream(
+                    new FileOutputStream(packFileName)));
+        } catch (FileNotFoundException ex) {
+            System.out.println("Error: Map pack file cannot be created. [" + packFileName + "]");
+            return;
+        }
+
+        // Save chunks.
+        ArrayList<Chunk> allChunks = this.chunks.getChunks();
+        try {
+            output.writeInt(PACK_MAGIC);
+            output.writeInt(PACK_VERSION);
+            output.writeInt(Chunk.LENGTH);
+            output.writeInt(allChunks.size());
+
+            int tileOffset = PACK_HEADER_SIZE + allChunks.size() * PACK_ENTRY_SIZE;
+            for (Chunk chunk: allChunks) {
+                output.writeInt(chunk.getMapX());
+                output.writeInt(chunk.getMapY());
+                output.writeInt(tileOffset);
+                tileOffset += Chunk.LENGTH * Chunk.LENGTH;
+            }
+
+            for (Chunk chunk: allChunks) {
+                for (int y = 0; y < Chunk.LENGTH; y++) {
+                    for (int x = 0; x < Chunk.LENGTH; x++) {
+                        output.writeByte(chunk.getTileType(x, y).getId());
+                    }
+                }
+            }
+        } catch (IOException ex) {
+            System.out.println("Error: Could not write map pack file.");
+        }
+
+        // Close map pack file.
+        try {
+            output.close();
+        } catch (IOException ex) {
+            System.out.println("Error: Map pack file cannot be closed.");
+        }
+    }
+
     /**
      * This method loads and unloads chunks based on their proximity to the camera.
+     * Only the chunks around the camera are looked at, so this does not depend on
+     * the size of the map. Chunks streamed from a map pack only become active once
+     * they finish loading.
      * @param cameraRealPosition The real position of the camera.
      * @see Map#calculateRealPosition(Vector)
      */
     public void updateRendering(Vector cameraRealPosition) {
         Vector cameraMapPosition = Map.calculateMapPosition(cameraRealPosition);
+        int cameraMapX = (int) cameraMapPosition.getX();
+        int cameraMapY = (int) cameraMapPosition.getY();
+
+        if (this.pack != null || this.generator != null) {
+            this.streamChunks(cameraMapX, cameraMapY);
+        }
+
         // Remove chunks that are now outside render distance.
         for (Iterator<Chunk> it = this.activeChunks.iterator(); it.hasNext(); ) {
             Chunk chunk = it.next();
             if (Vector.compareDistance(chunk.getMapPos(), cameraMapPosition, Map.RENDER_DISTANCE) > 0) {
-                this.unactiveChunks.add(chunk);
+                chunk.setActive(false);
                 it.remove();
+                this.numActiveChanges++;
             }
         }
 
         // Add chunks that are now inside render distance.
-        for (Iterator<Chunk> it = this.unactiveChunks.iterator(); it.hasNext(); ) {
-            Chunk chunk = it.next();
-            if (Vector.compareDistance(chunk.getMapPos(), cameraMapPosition, Map.RENDER_DISTANCE) <= 0) {
-                this.activeChunks.add(chunk);
-                it.remove();
+        for (int dy = -Map.RENDER_DISTANCE; dy <= Map.RENDER_DISTANCE; dy++) {
+            for (int dx = -Map.RENDER_DISTANCE; dx <= Map.RENDER_DISTANCE; dx++) {
+                if (dx * dx + dy * dy > Map.RENDER_DISTANCE * Map.RENDER_DISTANCE) {
+                    continue;
+                }
+
+                Chunk chunk = this.chunks.get(cameraMapX + dx, cameraMapY + dy);
+                if (chunk != null && !chunk.checkActive()) {
+                    chunk.setActive(true);
+                    this.activeChunks.add(chunk);
+                    this.numActiveChanges++;
+                }
             }
         }
     }
 
+    /**
+     * This method checks if the chunks around the camera need to be looked at
+     * again without the camera moving, because chunks finished loading in the
+     * background or the map pack or generator changed.
+     * @return {@code true} if {@link #updateRendering(Vector)} should be called,
+     *         {@code false} otherwise.
+     */
+    public boolean checkRenderingNeeded() {
+        return (this.pack != null || this.generator != null)
+                && (this.streamNeeded || !this.loadedChunks.isEmpty());
+    }
+
     /**
      * This method gets the {@code Chunk} that a coordinate falls into.
      * @param x The x-coordinate.
@@ -115,30 +500,46 @@ public class Map implements Drawable, Debuggable {
      * contains the coordinate.
      */
     public Chunk getChunkContaining(int x, int y) {
-        // Search in active chunks.
-        for (Chunk chunk: this.activeChunks) {
-            if (chunk.contains(x, y)) {
-                return chunk;
-            }
-        }
+        return this.chunks.get(Math.floorDiv(x, Chunk.LENGTH * Tile.LENGTH), 
+                Math.floorDiv(y, Chunk.LENGTH * Tile.LENGTH));
+    }
 
-        // Search in unactive chunks.
-        for (Chunk chunk: this.unactiveChunks) {
-            if (chunk.contains(x, y)) {
-                return chunk;
-            }
-        }
+    /**
+     * This method sets the generator used for chunks that are not in the map files
+     * or map pack. They are generated in the background as the camera gets close.
+     * @param generator The {@code ChunkGenerator}, or {@code null} to generate no chunks.
+     */
+    public void setGenerator(ChunkGenerator generator) {
+        this.generator = generator;
+        this.streamNeeded = true;
+    }
 
-        // The chunk cannot be found on the map.
-        return null;
+    public int getNumChunks() {
+        return this.chunks.size();
     }
 
     public ArrayList<Chunk> getActiveChunks() {
         return this.activeChunks;
     }
 
+    /**
+     * This method gets the number of times a chunk was loaded or unloaded. It
+     * only changes when the active chunks change, so anything drawn from the
+     * active chunks can be kept until it does.
+     * @return The number of changes to the active chunks.
+     */
+    public int getNumActiveChanges() {
+        return this.numActiveChanges;
+    }
+
+    /**
+     * This method creates a list of all the chunks that are not within render distance.
+     * @return An {@code ArrayList} object containing the unactive chunks.
+     */
     public ArrayList<Chunk> getUnactiveChunks() {
-        return this.unactiveChunks;
+        ArrayList<Chunk> unactiveChunks = this.chunks.getChunks();
+        unactiveChunks.removeAll(this.activeChunks);
+        return unactiveChunks;
     }
 
     /**
@@ -162,21 +563,125 @@ public class Map implements Drawable, Debuggable {
 
     /**
      * This method determines whether a hitbox intersects with an active solid tile.
-     * It only checks the active chunks for solid tiles.
+     * It only checks the active chunks the hitbox covers for solid tiles.
      * @param other The hitbox to check.
      * @return {@code true} if the hitbox does intersect, {@code false} otherwise.
      */
     public boolean intersectsWithActiveSolid(Hitbox other) {
-        ArrayList<Chunk> intersectingChunks = this.getActiveChunksIntersecting(other);
+        return this.intersectsWithActiveSolid(Tile.getFirstTileTouching(other.getX()),
+                Tile.getFirstTileTouching(other.getY()),
+                Tile.getLastTileTouching(other.getX() + other.getWidth()),
+                Tile.getLastTileTouching(other.getY() + other.getHeight()));
+    }
 
-        for (Chunk chunk: intersectingChunks) {
-            if (chunk.intersectsWithSolid(other)) {
-                return true;
+    /**
+     * This method determines whether any tile in a range of tiles is an active
+     * solid tile. The range is given in tiles counting from the origin.
+     * @param firstTileX The first column to check.
+     * @param firstTileY The first row to check.
+     * @param lastTileX The last column to check.
+     * @param lastTileY The last row to check.
+     * @return {@code true} if any tile in the range is active and solid, {@code false} otherwise.
+     */
+    public boolean intersectsWithActiveSolid(int firstTileX, int firstTileY, int lastTileX,
+            int lastTileY) {
+        // Find the chunks covered by the range.
+        int firstChunkX = Math.floorDiv(firstTileX, Chunk.LENGTH);
+        int lastChunkX = Math.floorDiv(lastTileX, Chunk.LENGTH);
+        int firstChunkY = Math.floorDiv(firstTileY, Chunk.LENGTH);
+        int lastChunkY = Math.floorDiv(lastTileY, Chunk.LENGTH);
+
+        for (int chunkY = firstChunkY; chunkY <= lastChunkY; chunkY++) {
+            for (int chunkX = firstChunkX; chunkX <= lastChunkX; chunkX++) {
+                Chunk chunk = this.chunks.get(chunkX, chunkY);
+                if (chunk == null || !chunk.checkActive()) {
+                    continue;
+                }
+
+                // Check the part of the range inside the chunk.
+                int tileOffsetX = chunkX * Chunk.LENGTH;
+                int tileOffsetY = chunkY * Chunk.LENGTH;
+                if (chunk.intersectsWithSolid(Math.max(0, firstTileX - tileOffsetX),
+                        Math.max(0, firstTileY - tileOffsetY),
+                        Math.min(Chunk.LENGTH - 1, lastTileX - tileOffsetX),
+                        Math.min(Chunk.LENGTH - 1, lastTileY - tileOffsetY))) {
+                    return true;
+                }
             }
         }
         return false;
     }
 
+    /**
+     * This method sweeps a hitbox horizontally towards a target and finds how far
+     * it can move before touching an active solid tile. Only the tile columns the
+     * hitbox enters are checked, nearest first.
+     * @param x The top-left x-coordinate of the hitbox.
+     * @param y The top-left y-coordinate of the hitbox.
+     * @param width The width of the hitbox.
+     * @param height The height of the hitbox.
+     * @param targetX The x-coordinate the hitbox is moving to.
+     * @return The x-coordinate the hitbox can move to, the target if nothing is in the way.
+     */
+    public int sweepX(int x, int y, int width, int height, int targetX) {
+        int firstRow = Tile.getFirstTileTouching(y);
+        int lastRow = Tile.getLastTileTouching(y + height);
+
+        if (targetX > x) {
+            int lastColumn = Tile.getLastTileTouching(targetX + width);
+            for (int column = Tile.getLastTileTouching(x + width) + 1; column <= lastColumn; column++) {
+                if (this.intersectsWithActiveSolid(column, firstRow, column, lastRow)) {
+                    // Stop just before the left side of the tile.
+                    return column * Tile.LENGTH - 1 - width;
+                }
+            }
+        } else if (targetX < x) {
+            int firstColumn = Tile.getFirstTileTouching(targetX);
+            for (int column = Tile.getFirstTileTouching(x) - 1; column >= firstColumn; column--) {
+                if (this.intersectsWithActiveSolid(column, firstRow, column, lastRow)) {
+                    // Stop just after the right side of the tile.
+                    return (column + 1) * Tile.LENGTH + 1;
+                }
+            }
+        }
+        return targetX;
+    }
+
+    /**
+     * This method sweeps a hitbox vertically towards a target and finds how far
+     * it can move before touching an active solid tile. Only the tile rows the
+     * hitbox enters are checked, nearest first.
+     * @param x The top-left x-coordinate of the hitbox.
+     * @param y The top-left y-coordinate of the hitbox.
+     * @param width The width of the hitbox.
+     * @param height The height of the hitbox.
+     * @param targetY The y-coordinate the hitbox is moving to.
+     * @return The y-coordinate the hitbox can move to, the target if nothing is in the way.
+     */
+    public int sweepY(int x, int y, int width, int height, int targetY) {
+        int firstColumn = Tile.getFirstTileTouching(x);
+        int lastColumn = Tile.getLastTileTouching(x + width);
+
+        if (targetY > y) {
+            int lastRow = Tile.getLastTileTouching(targetY + height);
+            for (int row = Tile.getLastTileTouching(y + height) + 1; row <= lastRow; row++) {
+                if (this.intersectsWithActiveSolid(firstColumn, row, lastColumn, row)) {
+                    // Stop just before the top side of the tile.
+                    return row * Tile.LENGTH - 1 - height;
+                }
+            }
+        } else if (targetY < y) {
+            int firstRow = Tile.getFirstTileTouching(targetY);
+            for (int row = Tile.getFirstTileTouching(y) - 1; row >= firstRow; row--) {
+                if (this.intersectsWithActiveSolid(firstColumn, row, lastColumn, row)) {
+                    // Stop just after the bottom side of the tile.
+                    return (row + 1) * Tile.LENGTH + 1;
+                }
+            }
+        }
+        return targetY;
+    }
+
     /**
      * This method draws all the active chunks.
      */
@@ -187,6 +692,31 @@ public class Map implements Drawable, Debuggable {
         }
     }
 
+    /**
+     * This method draws the active chunks that are visible to a {@code Camera}.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param camera The {@code Camera} showing the visible area.
+     */
+    public void draw(Graphics graphics, Camera camera) {
+        int chunkLength = Chunk.LENGTH * Tile.LENGTH;
+        for (Chunk chunk: this.activeChunks) {
+            if (camera.checkVisible(chunk.getMapX() * chunkLength, chunk.getMapY() * chunkLength, 
+                    chunkLength, chunkLength)) {
+                chunk.draw(graphics, camera);
+            }
+        }
+
+        // Draw placeholders for the chunks that are still loading.
+        graphics.setColor(Const.YELLOW);
+        for (long key: this.placeholderKeys) {
+            int x = (int) (key >> 32) * chunkLength;
+            int y = (int) key * chunkLength;
+            if (camera.checkVisible(x, y, chunkLength, chunkLength)) {
+                graphics.fillRect(x, y, chunkLength, chunkLength);
+            }
+        }
+    }
+
     /**
      * This method draws the debug information of all the active chunks.
      */
@@ -206,11 +736,19 @@ public class Map implements Drawable, Debuggable {
      * @return The map position based on the real position.
      */
     public static Vector calculateMapPosition(Vector realPosition) {
-        Vector mapPosition = realPosition.clone();
-        mapPosition.div(Chunk.LENGTH * Tile.LENGTH);
-        mapPosition.setX(Math.floor(mapPosition.getX()));
-        mapPosition.setY(Math.floor(mapPosition.getY()));
-        return mapPosition;
+        return new Vector(calculateMapCoordinate(realPosition.getX()),
+                calculateMapCoordinate(realPosition.getY()));
+    }
+
+    /**
+     * This method calculates one part of the map position from the same part of
+     * a real position, without needing a {@code Vector} for either.
+     * @param realCoordinate The real x or y-coordinate.
+     * @return The map x or y-coordinate, floored to the lowest integer.
+     * @see Map#calculateMapPosition(Vector)
+     */
+    public static int calculateMapCoordinate(double realCoordinate) {
+        return (int) Math.floor(realCoordinate / (Chunk.LENGTH * Tile.LENGTH));
     }
 
     /**
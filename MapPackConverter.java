@@ -0,0 +1,34 @@
+/**
+ * This class converts a map from the text format, a map file listing one file
+ * for each chunk, into a single map pack file that the game can load quickly.
+ * It should be run again whenever a chunk file is changed.
+ * <p>It is run from the command line as follows with values substituted in.</p>
+ * <pre>{@code
+ * java MapPackConverter mapFileName packFileName
+ * }</pre>
+ * The map and pack files used by the game are converted when no names are given.
+ * @see Map#loadFromFile()
+ * @see Map#saveToPack(String)
+ */
+public class MapPackConverter {
+    public static void main(String[] args) {
+        // There is no display needed.
+        System.setProperty("java.awt.headless", "true");
+
+        String mapFileName = Const.MAP_FILE_NAME;
+        String packFileName = Const.MAP_PACK_FILE_NAME;
+        if (args.length == 2) {
+            mapFileName = args[0];
+            packFileName = args[1];
+        } else if (args.length != 0) {
+            System.out.println("Usage: java MapPackConverter mapFileName packFileName");
+            return;
+        }
+
+        Map map = new Map(mapFileName);
+        map.loadFromFile();
+        map.saveToPack(packFileName);
+        System.out.println("Converted " + map.getNumChunks() + " chunks from " + mapFileName
+                + " to " + packFileName);
+    }
+}
@@ -2,6 +2,7 @@ import java.awt.Graphics;
 import java.awt.Graphics2D;
 import java.awt.geom.AffineTransform;
 import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
 import java.awt.BasicStroke;
 
 import java.util.ArrayList;
@@ -11,13 +12,27 @@ import java.util.ArrayList;
  * magnification, and position than the actual game map.
  */
 public class Minimap implements Drawable {
+    // The real length of the dot drawn for each entity.
+    private static final int DOT_LENGTH = 20;
+
     private Vector position;
     private double scale;
     private BufferedImage surf;
+    // The surface is drawn on every update, so its graphics are kept instead of
+    // being created each time. The dots are written straight into its pixels.
+    private Graphics2D surfGraphics;
+    private int[] surfPixels;
+    private int dotLength;
+
+    // The active chunks drawn at the scale of this minimap, and the real position
+    // of its top-left corner. It is only drawn again when the active chunks change.
+    private BufferedImage terrain;
+    private Vector terrainPos;
+    private int terrainNumActiveChanges;
     
     private Map map;
     private Player player;
-    private ArrayList<Enemy> enemies;
+    private EnemySystem enemies;
 
     /**
      * This constructs a {@code Minimap} object with a position, size, and magnification.
@@ -27,13 +42,19 @@ public class Minimap implements Drawable {
      * @param scale The magnification of this {@code Minimap}.
      * @param map The map this {@code Minimap} is based on.
      * @param player The {@code Player} object.
-     * @param enemies The list of all the {@code Enemy} objects.
+     * @param enemies The {@code EnemySystem} holding all the enemies.
      */
     public Minimap(Vector position, int width, int height, double scale, Map map, 
-            Player player, ArrayList<Enemy> enemies) {
+            Player player, EnemySystem enemies) {
         this.position = position;
         this.scale = scale;
         this.surf = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        this.surfGraphics = this.surf.createGraphics();
+        this.surfPixels = ((DataBufferInt) this.surf.getRaster().getDataBuffer()).getData();
+        this.dotLength = Math.max(1, (int) Math.round(DOT_LENGTH / scale));
+        this.terrain = null;
+        this.terrainPos = Vector.VECTOR_ZERO.clone();
+        this.terrainNumActiveChanges = -1;
 
         this.map = map;
         this.player = player;
@@ -42,42 +63,124 @@ public class Minimap implements Drawable {
 
     /**
      * This method updates the rendering of this {@code Minimap}. The entities are
-     * drawn as small circles on this {@code Minimap}. The player is centered.
+     * drawn as small squares on this {@code Minimap}. The player is centered.
+     * The terrain is kept already scaled down and only drawn again when the
+     * active chunks change. The entities are placed by hand instead of through
+     * a scaling transform, since Java2D allocates for every shape it draws under
+     * one, and their pixels are set directly, since even a plain {@code fillRect}
+     * costs more than the rest of a large horde's update.
      */
     public void update() {
-        Graphics2D graphics = this.surf.createGraphics();
+        if (this.terrainNumActiveChanges != this.map.getNumActiveChanges()) {
+            this.updateTerrain();
+        }
+
+        Graphics2D graphics = this.surfGraphics;
 
         // Draw the minimap background.
         graphics.setColor(Const.WHITE);
         graphics.fillRect(0, 0, this.getWidth(), this.getHeight());
 
-        // Center and scale the player in the minimap.
-        AffineTransform saveAT = graphics.getTransform();
-        AffineTransform translateCenterPlayer = AffineTransform.getTranslateInstance(
-                this.getWidth() * this.scale / 2 - this.player.getCenterX(),
-                this.getHeight() * this.scale / 2 - this.player.getCenterY());
-        AffineTransform scaleDown = AffineTransform.getScaleInstance(1 / this.scale, 1 / this.scale);
-        
-        graphics.transform(scaleDown);
-        graphics.transform(translateCenterPlayer);
-
         // Draw the map.
-        this.map.draw(graphics);
+        if (this.terrain != null) {
+            graphics.drawImage(this.terrain, this.calculateSurfX(this.terrainPos.getX()),
+                    this.calculateSurfY(this.terrainPos.getY()), null);
+        }
 
-        // Draw the enemies.
-        for (Enemy enemy: this.enemies) {
-            graphics.setColor(Const.RED);
-            graphics.fillOval((int) enemy.getCenterX() - 10, 
-                    (int) enemy.getCenterY() - 10, 20, 20);
+        // Draw the enemies, skipping the ones off the minimap.
+        int enemyRGB = Const.RED.getRGB();
+        for (int i = 0; i < this.enemies.size(); i++) {
+            this.drawDot(this.calculateSurfX(this.enemies.getCenterX(i)), 
+                    this.calculateSurfY(this.enemies.getCenterY(i)), enemyRGB);
         }
 
         // Draw the player.
-        graphics.setColor(Const.DARK_BLUE);
-        graphics.fillOval((int) this.player.getCenterX() - 10, 
-                (int) this.player.getCenterY() - 10, 20, 20);
+        this.drawDot(this.calculateSurfX(this.player.getCenterX()), 
+                this.calculateSurfY(this.player.getCenterY()), Const.DARK_BLUE.getRGB());
+    }
 
-        // Reset the graphics.
-        graphics.setTransform(saveAT);
+    /**
+     * This method draws the dot for an entity onto the surface of this
+     * {@code Minimap}. The part of the dot off the surface is skipped.
+     * @param x The x-coordinate of the center of the dot on the surface.
+     * @param y The y-coordinate of the center of the dot on the surface.
+     * @param rgb The color of the dot.
+     */
+    private void drawDot(int x, int y, int rgb) {
+        int width = this.getWidth();
+        int left = Math.max(0, x - this.dotLength / 2);
+        int top = Math.max(0, y - this.dotLength / 2);
+        int right = Math.min(width, x - this.dotLength / 2 + this.dotLength);
+        int bottom = Math.min(this.getHeight(), y - this.dotLength / 2 + this.dotLength);
+
+        for (int row = top; row < bottom; row++) {
+            int rowStart = row * width;
+            for (int col = left; col < right; col++) {
+                this.surfPixels[rowStart + col] = rgb;
+            }
+        }
+    }
+
+    /**
+     * This method calculates where a real x-coordinate is drawn on the surface of
+     * this {@code Minimap}, with the player in the center.
+     * @param x The real x-coordinate.
+     * @return The x-coordinate on the surface.
+     */
+    private int calculateSurfX(double x) {
+        return (int) Math.round(this.getWidth() / 2.0 + (x - this.player.getCenterX()) / this.scale);
+    }
+
+    /**
+     * This method calculates where a real y-coordinate is drawn on the surface of
+     * this {@code Minimap}, with the player in the center.
+     * @param y The real y-coordinate.
+     * @return The y-coordinate on the surface.
+     */
+    private int calculateSurfY(double y) {
+        return (int) Math.round(this.getHeight() / 2.0 + (y - this.player.getCenterY()) / this.scale);
+    }
+
+    /**
+     * This method draws the active chunks of the map scaled down onto the terrain
+     * image. The image covers the smallest area containing all the active chunks.
+     */
+    private void updateTerrain() {
+        this.terrainNumActiveChanges = this.map.getNumActiveChanges();
+        ArrayList<Chunk> activeChunks = this.map.getActiveChunks();
+        if (activeChunks.isEmpty()) {
+            this.terrain = null;
+            return;
+        }
+
+        // Find the area covered by the active chunks.
+        int firstMapX = Integer.MAX_VALUE;
+        int firstMapY = Integer.MAX_VALUE;
+        int lastMapX = Integer.MIN_VALUE;
+        int lastMapY = Integer.MIN_VALUE;
+        for (Chunk chunk: activeChunks) {
+            firstMapX = Math.min(firstMapX, chunk.getMapX());
+            firstMapY = Math.min(firstMapY, chunk.getMapY());
+            lastMapX = Math.max(lastMapX, chunk.getMapX());
+            lastMapY = Math.max(lastMapY, chunk.getMapY());
+        }
+
+        int chunkLength = Chunk.LENGTH * Tile.LENGTH;
+        this.terrainPos = new Vector(firstMapX * chunkLength, firstMapY * chunkLength);
+        this.terrain = new BufferedImage(
+                (int) Math.ceil((lastMapX - firstMapX + 1) * chunkLength / this.scale),
+                (int) Math.ceil((lastMapY - firstMapY + 1) * chunkLength / this.scale),
+                BufferedImage.TYPE_INT_RGB);
+
+        Graphics2D graphics = this.terrain.createGraphics();
+        graphics.setColor(Const.WHITE);
+        graphics.fillRect(0, 0, this.terrain.getWidth(), this.terrain.getHeight());
+        graphics.scale(1 / this.scale, 1 / this.scale);
+        graphics.translate(-this.terrainPos.getX(), -this.terrainPos.getY());
+        for (Chunk chunk: activeChunks) {
+            chunk.draw(graphics);
+        }
+        graphics.dispose();
     }
 
     public int getWidth() {
@@ -26,6 +26,8 @@ public class Player extends Entity implements Moveable, Collidable {
     private int direction;
     private Vector moveSpeed;
     private Vector realSpeed;
+    // The position before the last update, for drawing between updates.
+    private Vector prevPos;
     private Map map;
     private Sword sword;
     private HealthBar healthBar;
@@ -55,6 +57,8 @@ public class Player extends Entity implements Moveable, Collidable {
 
         this.direction = Const.LEFT;
         this.moveSpeed = Vector.VECTOR_ZERO.clone();
+        this.realSpeed = Vector.VECTOR_ZERO.clone();
+        this.prevPos = this.getPos();
         this.map = map;
         this.sword = new Sword(this.getPos(), swordDamagePoints, this.getName() + "'s Sword");
         this.healthBar = new HealthBar(Vector.sum(this.getCenter(), new Vector(-this.getWidth() / 2, -60)), 
@@ -71,6 +75,21 @@ public class Player extends Entity implements Moveable, Collidable {
         this.sword.draw(graphics);
     }
 
+    /**
+     * This method draws the player partway between where it was before the last
+     * update and where it is now.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param alpha How far the game is between its last update and the next one,
+     *              from {@code 0} to {@code 1}.
+     */
+    public void draw(Graphics graphics, double alpha) {
+        int offsetX = this.getDrawOffsetX(alpha);
+        int offsetY = this.getDrawOffsetY(alpha);
+        graphics.translate(offsetX, offsetY);
+        this.draw(graphics);
+        graphics.translate(-offsetX, -offsetY);
+    }
+
     /**
      * This method draws the player hitboxes and debug info onto a surface.
      */
@@ -90,14 +109,14 @@ public class Player extends Entity implements Moveable, Collidable {
      * This method updates the player's position and handles tile collisions.
      */
     public void update() {
+        this.prevPos.set(this.getRefPos());
+
         // Handle collisions.
-        this.realSpeed = this.moveSpeed.clone();
         this.handleTileCollisions();
 
         // Update the position.
-        Vector newPos = this.getPos();
-        newPos.add(this.realSpeed);
-        this.setPos(newPos);
+        this.getRefPos().add(this.realSpeed);
+        this.setPos(this.getRefPos());
 
         // Regenerate health randomly.
         if ((int) (Math.random() * 5) == 0) {
@@ -121,44 +140,53 @@ public class Player extends Entity implements Moveable, Collidable {
             } else {
                 this.activeCycle = this.walkCycle;
             }
-            this.activeCycle.setPos(this.getPos());
+            this.activeCycle.setPos(this.getRefPos());
         }
 
         this.sword.animate();
     }
 
     /**
-     * This method alters the player speed in order to prevent solid tile collisions.
+     * This method calculates the real speed of the player from its move speed,
+     * reducing it in order to prevent solid tile collisions. The hitbox is swept
+     * horizontally, then vertically, so the player slides along walls.
      */
-    private void handleTileCollisions() {
-        RelativeHitbox shiftedHitbox = (RelativeHitbox) this.getGeneralHitbox();
-
-        Vector newRealSpeed = this.realSpeed.getVectorX();
-        double speedPercentage = 1.0;
-
-        // Reduce the speed until it can move horizontally.
-        shiftedHitbox.setAnchorPos(Vector.sum(this.getPos(), newRealSpeed));
-        while (this.map.intersectsWithActiveSolid(shiftedHitbox) && 
-                Double.compare(speedPercentage, 0.1) >= 0) {
-            speedPercentage -= 0.1;
-            speedPercentage = Math.round(speedPercentage * 10) / 10.0;
-            newRealSpeed.setX(this.realSpeed.getX() * speedPercentage);
-            shiftedHitbox.setAnchorPos(Vector.sum(this.getPos(), newRealSpeed));
+    public void handleTileCollisions() {
+        this.realSpeed.set(this.moveSpeed);
+        RelativeHitbox hitbox = (RelativeHitbox) this.activeCycle.getGeneralHitbox();
+        int x = hitbox.getX();
+        int y = hitbox.getY();
+        int width = hitbox.getWidth();
+        int height = hitbox.getHeight();
+
+        // Move horizontally as far as the tiles allow.
+        double hitboxX = this.getX() + hitbox.getRelX();
+        int targetX = (int) (hitboxX + this.realSpeed.getX());
+        int newX = this.map.sweepX(x, y, width, height, targetX);
+        if (newX != targetX) {
+            this.realSpeed.setX(getPixelCenter(newX) - hitboxX);
         }
 
-        // Reduce the speed until it can move vertically.
-        newRealSpeed.setY(this.realSpeed.getY());
-        speedPercentage = 1.0;
-        shiftedHitbox.setAnchorPos(Vector.sum(this.getPos(), newRealSpeed));
-        while (this.map.intersectsWithActiveSolid(shiftedHitbox) && 
-                Double.compare(speedPercentage, 0.1) >= 0) {
-            speedPercentage -= 0.1;
-            speedPercentage = Math.round(speedPercentage * 10) / 10;
-            newRealSpeed.setY(this.realSpeed.getY() * speedPercentage);
-            shiftedHitbox.setAnchorPos(Vector.sum(this.getPos(), newRealSpeed));
+        // Move vertically from the new horizontal position.
+        double hitboxY = this.getY() + hitbox.getRelY();
+        int targetY = (int) (hitboxY + this.realSpeed.getY());
+        int newY = this.map.sweepY(newX, y, width, height, targetY);
+        if (newY != targetY) {
+            this.realSpeed.setY(getPixelCenter(newY) - hitboxY);
         }
+    }
 
-        this.realSpeed = newRealSpeed;
+    /**
+     * This method finds the middle of the coordinates that truncate to a whole
+     * number, so rounding errors when moving there cannot land on the next one.
+     * @param coordinate The whole number coordinate.
+     * @return A coordinate that truncates to the whole number.
+     */
+    private static double getPixelCenter(int coordinate) {
+        if (coordinate >= 0) {
+            return coordinate + 0.5;
+        }
+        return coordinate - 0.5;
     }
 
     @Override
@@ -173,14 +201,12 @@ public class Player extends Entity implements Moveable, Collidable {
 
     @Override
     public int getCenterX() {
-        RelativeHitbox generalHitbox = (RelativeHitbox) this.getGeneralHitbox();
-        return generalHitbox.getX() + generalHitbox.getWidth() / 2;
+        return this.activeCycle.getCenterX();
     }
 
     @Override
     public int getCenterY() {
-        RelativeHitbox generalHitbox = (RelativeHitbox) this.getGeneralHitbox();
-        return generalHitbox.getY() + generalHitbox.getHeight() / 2;
+        return this.activeCycle.getCenterY();
     }
 
     @Override
@@ -190,7 +216,29 @@ public class Player extends Entity implements Moveable, Collidable {
 
     @Override
     public Hitbox getGeneralHitbox() {
-        return this.activeCycle.getGeneralHitbox().clone();
+        return this.activeCycle.getGeneralHitbox();
+    }
+
+    /**
+     * This method calculates how far the player is drawn from its position to
+     * appear partway between its last two updates.
+     * @param alpha How far the game is between its last update and the next one,
+     *              from {@code 0} to {@code 1}.
+     * @return The x-offset, rounded to a whole pixel.
+     */
+    public int getDrawOffsetX(double alpha) {
+        return (int) Math.round((this.prevPos.getX() - this.getX()) * (1 - alpha));
+    }
+
+    /**
+     * This method calculates how far the player is drawn from its position to
+     * appear partway between its last two updates.
+     * @param alpha How far the game is between its last update and the next one,
+     *              from {@code 0} to {@code 1}.
+     * @return The y-offset, rounded to a whole pixel.
+     */
+    public int getDrawOffsetY(double alpha) {
+        return (int) Math.round((this.prevPos.getY() - this.getY()) * (1 - alpha));
     }
 
     public AnimationCycle getActiveCycle() {
@@ -204,20 +252,20 @@ public class Player extends Entity implements Moveable, Collidable {
     @Override
     public void setX(double newX) {
         super.setX(newX);
-        this.setPos(this.getPos());
+        this.setPos(this.getRefPos());
     }
 
     @Override
     public void setY(double newY) {
         super.setY(newY);
-        this.setPos(this.getPos());
+        this.setPos(this.getRefPos());
     }
 
     @Override
     public void setPos(Vector newPos) {
         super.setPos(newPos);
         this.activeCycle.setPos(newPos);
-        this.healthBar.setPos(Vector.sum(this.getCenter(), new Vector(-this.getWidth() / 2, -60)));
+        this.healthBar.setPos(this.getCenterX() - this.getWidth() / 2, this.getCenterY() - 60);
         this.sword.setPos(newPos);
     }
 
@@ -11,6 +11,7 @@ public class RelativeHitbox extends Hitbox {
 
     /**
      * This constructs a {@code RelativeHitbox} object with a position and dimensions.
+     * It does NOT store references to the anchor or relative positions.
      * @param anchorPosition The anchor position.
      * @param relativePosition The relative position of the top-left of this hitbox.
      * @param width The width of this hitbox.
@@ -19,8 +20,8 @@ public class RelativeHitbox extends Hitbox {
     public RelativeHitbox(Vector anchorPosition, Vector relativePosition, int width, 
             int height) {
         super(Vector.sum(anchorPosition, relativePosition), width, height);
-        this.anchorPosition = anchorPosition;
-        this.relativePosition = relativePosition;
+        this.anchorPosition = anchorPosition.clone();
+        this.relativePosition = relativePosition.clone();
     }
 
     public int getAnchorX() {
@@ -48,23 +49,32 @@ public class RelativeHitbox extends Hitbox {
     }
     
     public void setAnchorPos(Vector newAnchorPos) {
-        this.anchorPosition = newAnchorPos;
-        super.setPos(Vector.sum(this.anchorPosition, this.relativePosition));
+        this.anchorPosition.set(newAnchorPos);
+        this.updatePos();
     }
 
     public void setRelPos(Vector newRelPos) {
-        this.relativePosition = newRelPos;
-        super.setPos(Vector.sum(this.anchorPosition, this.relativePosition));
+        this.relativePosition.set(newRelPos);
+        this.updatePos();
     }
 
     /**
-     * This method sets the anchor to a new position.
+     * This method sets the anchor to a new position. It does NOT store a reference
+     * to the new position.
      * @param newPos The new anchor position of this {@code RelativeHitbox}.
      */
     @Override
     public void setPos(Vector newPos) {
-        this.anchorPosition = newPos;
-        super.setPos(Vector.sum(this.anchorPosition, this.relativePosition));
+        this.anchorPosition.set(newPos);
+        this.updatePos();
+    }
+
+    /**
+     * This method moves the hitbox to the sum of the anchor and relative positions.
+     */
+    private void updatePos() {
+        super.setPos(this.anchorPosition.getX() + this.relativePosition.getX(),
+                this.anchorPosition.getY() + this.relativePosition.getY());
     }
 
     /**
@@ -92,10 +102,9 @@ public class RelativeHitbox extends Hitbox {
      */
     public void reflectHorizontally(int xLine) {
         xLine -= this.getAnchorX();
-        Vector newRelPos = this.relativePosition.clone();
-        newRelPos.reflectHorizontally(xLine);
-        newRelPos.setX(newRelPos.getX() - this.getWidth());
+        this.relativePosition.reflectHorizontally(xLine);
+        this.relativePosition.setX(this.relativePosition.getX() - this.getWidth());
 
-        this.setRelPos(newRelPos);
+        this.updatePos();
     }
 }
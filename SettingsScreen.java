@@ -50,6 +50,7 @@ public class SettingsScreen extends Screen {
             public void handlePress() {
                 if (fpsTextField.valid(fpsTextField.getText())) {
                     window.setFPS(Integer.parseInt(fpsTextField.getText()));
+                    game.setFPS(Integer.parseInt(fpsTextField.getText()));
                 }
             }
 
@@ -60,6 +61,7 @@ public class SettingsScreen extends Screen {
             public void handleSubmit() {
                 if (fpsTextField.valid(fpsTextField.getText())) {
                     window.setFPS(Integer.parseInt(fpsTextField.getText()));
+                    game.setFPS(Integer.parseInt(fpsTextField.getText()));
                 }
             }
         });
@@ -0,0 +1,445 @@
+import java.lang.management.ManagementFactory;
+
+import java.util.ArrayList;
+
+/**
+ * This class benchmarks the hot paths of the game simulation. Each benchmark is
+ * warmed up, then run for a set number of timed iterations, reporting its
+ * throughput and the number of bytes allocated per operation. The largest game
+ * benchmark needs a few gigabytes of heap ({@code -Xmx4g}).
+ * <p>It is run from the command line, optionally with the names of the benchmarks
+ * to run (any benchmark containing one of the names is run).</p>
+ * <pre>{@code
+ * java SimulationBenchmark [name1 name2 ...]
+ * }</pre>
+ * The enemy movement system runs on the common fork-join pool, so its scaling
+ * can be compared by setting {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism}.
+ * The bytes allocated are counted across every live thread, including the pool
+ * workers and the chunk loaders. The pool and the loaders keep their threads,
+ * but a thread that ends partway through a benchmark would make its count too
+ * low.
+ */
+public class SimulationBenchmark {
+    private static final int WARMUP_ITERATIONS = 3;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+    private static final long ITERATION_TIME = 1000 * Const.NS_PER_MS;
+    // The number of operations to run between checking the clock.
+    private static final int OPS_PER_BATCH = 8;
+
+    // Results are written here so the benchmarked work cannot be optimized away.
+    private static volatile Object sink;
+
+    private ArrayList<Benchmark> benchmarks;
+
+    /**
+     * This constructs a {@code SimulationBenchmark} object with all the benchmarks.
+     */
+    public SimulationBenchmark() {
+        this.benchmarks = new ArrayList<Benchmark>();
+
+        this.addGameUpdateBenchmark(6);
+        this.addGameUpdateBenchmark(20);
+        this.addGameUpdateBenchmark(200);
+        this.addGameUpdateBenchmark(2000);
+        this.addGameUpdateBenchmark(20000);
+        this.addEnemyUpdateBenchmark(200);
+        this.addEnemyUpdateBenchmark(2000);
+        this.addEnemyUpdateBenchmark(20000);
+
+        this.benchmarks.add(new Benchmark("Player.handleTileCollisions") {
+            private Player player;
+
+            public void setUp() {
+                Map map = loadMap();
+                this.player = new Player(Const.MEDIUM_PLAYER_HEALTH, Const.SWORD_DAMAGE, map);
+                // Walk right into the rock next to the spawn point.
+                this.player.setPos(new Vector(200, 290));
+                this.player.moveRight();
+            }
+
+            public void run() {
+                this.player.handleTileCollisions();
+            }
+        });
+
+        this.benchmarks.add(new Benchmark("Map.intersectsWithActiveSolid") {
+            private Map map;
+            private Hitbox hitbox;
+
+            public void setUp() {
+                this.map = loadMap();
+                this.hitbox = new Hitbox(100, 100, 40, 68);
+            }
+
+            public void run() {
+                sink = this.map.intersectsWithActiveSolid(this.hitbox);
+            }
+        });
+
+        this.benchmarks.add(new Benchmark("Map.loadFromFile") {
+            public void run() {
+                Map map = new Map(Const.MAP_FILE_NAME);
+                map.loadFromFile();
+                sink = map;
+            }
+        });
+
+        this.benchmarks.add(new Benchmark("Map.loadFromPack") {
+            public void run() {
+                Map map = new Map(Const.MAP_PACK_FILE_NAME);
+                map.loadFromPack();
+                sink = map;
+            }
+        });
+
+        this.benchmarks.add(new Benchmark("Chunk.loadFromGenerator") {
+            private ChunkGenerator generator;
+            private int mapX;
+
+            public void setUp() {
+                this.generator = new ChunkGenerator(Const.MAP_SEED);
+                this.mapX = 0;
+            }
+
+            public void run() {
+                Chunk chunk = new Chunk(null);
+                chunk.loadFromGenerator(this.generator, this.mapX, 0);
+                this.mapX++;
+                sink = chunk;
+            }
+        });
+
+        this.benchmarks.add(new Benchmark("Map.updateRendering") {
+            private Map map;
+            private Vector[] cameraPositions;
+            private int index;
+
+            public void setUp() {
+                this.map = loadMap();
+                // Cross a chunk border on every call.
+                this.cameraPositions = new Vector[] {new Vector(0, 0),
+                        new Vector(Chunk.LENGTH * Tile.LENGTH, 0)};
+                this.index = 0;
+            }
+
+            public void run() {
+                this.index = 1 - this.index;
+                this.map.updateRendering(this.cameraPositions[this.index]);
+            }
+        });
+
+        this.benchmarks.add(new Benchmark("FlowField.update") {
+            private FlowField flowField;
+            private Vector[] targetPositions;
+            private int index;
+
+            public void setUp() {
+                this.flowField = new FlowField(loadMap());
+                // Move onto a different tile on every call.
+                this.targetPositions = new Vector[] {new Vector(0, 0), new Vector(Tile.LENGTH, 0)};
+                this.index = 0;
+            }
+
+            public void run() {
+                this.index = 1 - this.index;
+                this.flowField.update(this.targetPositions[this.index]);
+            }
+        });
+
+        this.benchmarks.add(new Benchmark("Minimap.update") {
+            private Minimap minimap;
+
+            public void setUp() {
+                Map map = loadMap();
+                Player player = new Player(Const.MEDIUM_PLAYER_HEALTH, Const.SWORD_DAMAGE, map);
+                EnemySystem enemies = new EnemySystem(player);
+                for (int i = 0; i < Const.NUM_MAX_ENEMIES; i++) {
+                    Vector randomPos = Vector.getRandomInstance(-400, 400, -400, 400);
+                    enemies.spawn(randomPos.getX(), randomPos.getY(), Const.MEDIUM_ENEMY_HEALTH,
+                            Const.SWORD_DAMAGE);
+                }
+                this.minimap = new Minimap(Const.MINIMAP_POS, Const.MINIMAP_WIDTH,
+                        Const.MINIMAP_HEIGHT, Const.MINIMAP_SCALE, map, player, enemies);
+            }
+
+            public void run() {
+                this.minimap.update();
+            }
+        });
+
+        this.benchmarks.add(new Benchmark("AnimationCycle.loadNextFrame") {
+            private AnimationCycle cycle;
+
+            public void setUp() {
+                this.cycle = new AnimationCycle(new Vector(0, 0), Const.ENEMY_WALK_SPRITE_SHEET,
+                        Const.ENEMY_WALK_FILE_NAME);
+            }
+
+            public void run() {
+                this.cycle.loadNextFrame();
+            }
+        });
+
+        this.addIntersectsBenchmark("near", 30);
+        this.addIntersectsBenchmark("far", 400);
+
+        this.benchmarks.add(new Benchmark("EnemySystem.spawn") {
+            private EnemySystem enemies;
+
+            public void setUp() {
+                Player player = new Player(Const.MEDIUM_PLAYER_HEALTH, Const.SWORD_DAMAGE, loadMap());
+                this.enemies = new EnemySystem(player);
+            }
+
+            public void run() {
+                // Start over now and then so the arrays stop growing.
+                if (this.enemies.size() == 1000) {
+                    this.enemies.clear();
+                }
+                this.enemies.spawn(0, 0, Const.MEDIUM_ENEMY_HEALTH, Const.SWORD_DAMAGE);
+            }
+        });
+
+        this.benchmarks.add(new Benchmark("Sprite.reflectHorizontally") {
+            public void run() {
+                sink = Sprite.reflectHorizontally(Const.ENEMY_ATTACK_SPRITE_SHEET);
+            }
+        });
+    }
+
+    /**
+     * This method adds a benchmark that checks an attacking sword against an enemy
+     * swinging its own sword, which have the most hitboxes.
+     * @param name The name of the distance between them.
+     * @param distance The horizontal distance between their anchors.
+     */
+    private void addIntersectsBenchmark(String name, int distance) {
+        this.benchmarks.add(new Benchmark("AnimationCycle.intersects (" + name + ")") {
+            private AnimationCycle swordCycle;
+            private AnimationCycle enemyCycle;
+
+            public void setUp() {
+                this.swordCycle = new AnimationCycle(new Vector(0, 0), Const.SWORD_ATTACK_SPRITE_SHEET,
+                        Const.SWORD_ATTACK_FILE_NAME);
+                this.enemyCycle = new AnimationCycle(new Vector(distance, 0),
+                        Const.ENEMY_ATTACK_SPRITE_SHEET, Const.ENEMY_ATTACK_FILE_NAME);
+            }
+
+            public void run() {
+                sink = this.swordCycle.intersects(this.enemyCycle);
+                this.swordCycle.loadNextFrame();
+                this.enemyCycle.loadNextFrame();
+            }
+        });
+    }
+
+    /**
+     * This method adds a benchmark that updates a game filled with enemies.
+     * @param numEnemies The number of enemies in the game.
+     */
+    private void addGameUpdateBenchmark(int numEnemies) {
+        this.benchmarks.add(new Benchmark("Game.update (" + numEnemies + " enemies)") {
+            private Game game;
+
+            public void setUp() {
+                this.game = new Game();
+                this.game.setMaxEnemies(numEnemies);
+                while (this.game.getNumEnemies() < numEnemies) {
+                    this.game.spawnEnemy();
+                }
+            }
+
+            public void run() {
+                this.game.update();
+
+                // Keep the player alive so the game does not end.
+                if (this.game.checkGameOver()) {
+                    this.game.getPlayer().setMaxHealthPoints(Const.MEDIUM_PLAYER_HEALTH);
+                }
+            }
+
+            public void tearDown() {
+                this.game = null;
+            }
+        });
+    }
+
+    /**
+     * This method adds a benchmark that runs only the enemy movement system of a
+     * game filled with enemies. Hordes larger than a decide batch are split across
+     * threads.
+     * @param numEnemies The number of enemies in the game.
+     */
+    private void addEnemyUpdateBenchmark(int numEnemies) {
+        this.benchmarks.add(new Benchmark("EnemySystem.update (" + numEnemies + " enemies)") {
+            private Game game;
+
+            public void setUp() {
+                this.game = new Game();
+                this.game.setMaxEnemies(numEnemies);
+                while (this.game.getNumEnemies() < numEnemies) {
+                    this.game.spawnEnemy();
+                }
+            }
+
+            public void run() {
+                this.game.getEnemies().update();
+            }
+
+            public void tearDown() {
+                this.game = null;
+            }
+        });
+    }
+
+    /**
+     * This method runs every benchmark whose name contains one of the filters.
+     * @param filters The names to match. If empty, every benchmark is run.
+     */
+    public void run(String[] filters) {
+        System.out.printf("%-36s %16s %16s%n", "Benchmark", "ops/s", "B/op");
+
+        for (Benchmark benchmark: this.benchmarks) {
+            if (checkMatches(benchmark.getName(), filters)) {
+                benchmark.measure();
+            }
+        }
+    }
+
+    /**
+     * This method checks if a benchmark name contains any of the filters.
+     * @param name The benchmark name.
+     * @param filters The names to match.
+     * @return {@code true} if there are no filters or one matches, {@code false} otherwise.
+     */
+    private static boolean checkMatches(String name, String[] filters) {
+        if (filters.length == 0) {
+            return true;
+        }
+
+        for (String filter: filters) {
+            if (name.contains(filter)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * This method loads the game map with the chunks around the origin active.
+     * @return The loaded {@code Map} object.
+     */
+    private static Map loadMap() {
+        Map map = new Map(Const.MAP_PACK_FILE_NAME);
+        map.loadFromPack();
+        map.loadChunksAround(Vector.VECTOR_ZERO.clone());
+        return map;
+    }
+
+    /**
+     * This method gets the total number of bytes allocated by every live thread,
+     * so the work a benchmark hands to other threads, like the common fork-join
+     * pool, is counted as well.
+     * @return The number of bytes allocated so far.
+     */
+    private static long getAllocatedBytes() {
+        com.sun.management.ThreadMXBean threadBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long totalBytes = 0;
+        for (long bytes: threadBean.getThreadAllocatedBytes(threadBean.getAllThreadIds())) {
+            // Threads that ended after their ids were taken are skipped.
+            if (bytes > 0) {
+                totalBytes += bytes;
+            }
+        }
+        return totalBytes;
+    }
+
+    public static void main(String[] args) {
+        // There is no display to draw to.
+        System.setProperty("java.awt.headless", "true");
+
+        SimulationBenchmark simulationBenchmark = new SimulationBenchmark();
+        simulationBenchmark.run(args);
+    }
+
+    /**
+     * This class represents a single benchmarked operation. Subclasses prepare
+     * their state in {@code setUp} and perform one operation in {@code run}.
+     */
+    private abstract static class Benchmark {
+        private String name;
+
+        /**
+         * This constructs a {@code Benchmark} object with a name.
+         * @param name The name that is printed with the results.
+         */
+        public Benchmark(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+
+        /**
+         * This method prepares the state used by the operation. It is not timed.
+         */
+        public void setUp() {}
+
+        /**
+         * This method releases the state used by the operation so it does not
+         * take up memory during the next benchmark.
+         */
+        public void tearDown() {}
+
+        /**
+         * This method performs one operation.
+         */
+        abstract public void run();
+
+        /**
+         * This method warms up and measures the operation, then prints the average
+         * throughput and bytes allocated per operation over the timed iterations.
+         */
+        public void measure() {
+            this.setUp();
+
+            for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                this.runIteration();
+            }
+
+            long totalOps = 0;
+            long totalTime = 0;
+            long startBytes = getAllocatedBytes();
+            for (int i = 0; i < MEASUREMENT_ITERATIONS; i++) {
+                long startTime = System.nanoTime();
+                totalOps += this.runIteration();
+                totalTime += System.nanoTime() - startTime;
+            }
+            long allocatedBytes = getAllocatedBytes() - startBytes;
+
+            double opsPerSecond = totalOps / (totalTime / (double) (Const.MS_PER_S * Const.NS_PER_MS));
+            double bytesPerOp = allocatedBytes / (double) totalOps;
+            System.out.printf("%-36s %16.1f %16.1f%n", this.name, opsPerSecond, bytesPerOp);
+
+            this.tearDown();
+        }
+
+        /**
+         * This method runs the operation repeatedly for one iteration.
+         * @return The number of operations run.
+         */
+        private long runIteration() {
+            long numOps = 0;
+            long endTime = System.nanoTime() + ITERATION_TIME;
+            while (System.nanoTime() < endTime) {
+                for (int i = 0; i < OPS_PER_BATCH; i++) {
+                    this.run();
+                }
+                numOps += OPS_PER_BATCH;
+            }
+            return numOps;
+        }
+    }
+}
@@ -14,6 +14,9 @@ import javax.sound.sampled.LineUnavailableException;
  * The Sound class handles loading and playing a sound.
  */
 public class Sound {
+    // Whether a previous sound found that there is no audio device.
+    private static boolean audioUnavailable = false;
+
     Clip sound;
 
     /**
@@ -21,6 +24,10 @@ public class Sound {
      * @param soundName The sound file name.
      */
     Sound(String soundName) {
+        if (audioUnavailable) {
+            return;
+        }
+
         try {
             AudioInputStream audioStream = AudioSystem.getAudioInputStream(new File(soundName));
             this.sound = AudioSystem.getClip();
@@ -31,23 +38,40 @@ public class Sound {
             System.out.println("Unsupported file [" + soundName + "]"); 
         } catch (LineUnavailableException ex) { 
             System.out.println("Audio feed already in use");
+        } catch (IllegalArgumentException ex) {
+            System.out.println("No audio device available [" + soundName + "]");
+            audioUnavailable = true;
+            this.sound = null;
         }
 
         this.addLineListener(new SoundLineListener());
     }
 
+    /**
+     * This method checks if the sound was loaded and can be played. Without an
+     * audio device, every method on this {@code Sound} does nothing.
+     * @return {@code true} if the sound is loaded, {@code false} otherwise.
+     */
+    public boolean checkLoaded() {
+        return this.sound != null;
+    }
+
     /**
      * This method starts playing the sound.
      */
     public void start() {
-        this.sound.start();
+        if (this.checkLoaded()) {
+            this.sound.start();
+        }
     }
 
     /**
      * This method stops playing the sound.
      */
     public void stop() {
-        this.sound.stop();
+        if (this.checkLoaded()) {
+            this.sound.stop();
+        }
     }
 
     /**
@@ -64,7 +88,9 @@ public class Sound {
      * This method clears the queued data for the sound.
      */
     public void flush() {
-        this.sound.flush();
+        if (this.checkLoaded()) {
+            this.sound.flush();
+        }
     }
 
     /**
@@ -73,7 +99,9 @@ public class Sound {
      * @param frames The frame index to start playing the sound from.
      */
     public void setFramePosition(int frames) {
-        this.sound.setFramePosition(frames);
+        if (this.checkLoaded()) {
+            this.sound.setFramePosition(frames);
+        }
     }
 
     /**
@@ -81,7 +109,9 @@ public class Sound {
      * beginning.
      */
     public void reset() {
-        this.sound.setFramePosition(0);
+        if (this.checkLoaded()) {
+            this.sound.setFramePosition(0);
+        }
     }
 
     /**
@@ -89,7 +119,9 @@ public class Sound {
      * @param listener The {@code LineListener} to add.
      */
     public void addLineListener(LineListener listener) {
-        this.sound.addLineListener(listener);
+        if (this.checkLoaded()) {
+            this.sound.addLineListener(listener);
+        }
     }
 
     /**
@@ -97,7 +129,7 @@ public class Sound {
      * @return
      */
     public boolean checkRunning() {
-        return this.sound.isRunning();
+        return this.checkLoaded() && this.sound.isRunning();
     }
 
     /**
@@ -1,15 +1,26 @@
 import java.awt.Graphics;
+import java.awt.GraphicsEnvironment;
+import java.awt.GraphicsConfiguration;
+import java.awt.Transparency;
+import java.awt.geom.AffineTransform;
+import java.awt.image.AffineTransformOp;
 
 import java.io.File;
 import javax.imageio.ImageIO;
 import java.awt.image.BufferedImage;
 
+import java.util.IdentityHashMap;
+
 import java.io.IOException;
 
 /**
  * This class loads an image into memory for use in a Java GUI.
  */
 public class Sprite implements Drawable {
+    // The reflected copy of every image that was reflected, so each is only made once.
+    private static IdentityHashMap<BufferedImage, BufferedImage> reflectedImages =
+            new IdentityHashMap<BufferedImage, BufferedImage>();
+
     private Vector position;
     private Vector relPosition;
     private int width;
@@ -31,7 +42,7 @@ public class Sprite implements Drawable {
         
         // Load the image from file.
         this.originalImage = tryLoadImage(picName);
-        this.reflectedImage = reflectHorizontally(this.originalImage);
+        this.reflectedImage = null;
         this.image = originalImage;
 
         this.width = this.originalImage.getWidth();
@@ -50,7 +61,7 @@ public class Sprite implements Drawable {
         this.relPosition = Vector.VECTOR_ZERO.clone();
 
         this.originalImage = pic;
-        this.reflectedImage = reflectHorizontally(this.originalImage);
+        this.reflectedImage = null;
         this.image = originalImage;
 
         this.width = this.originalImage.getWidth();
@@ -69,7 +80,7 @@ public class Sprite implements Drawable {
         this.relPosition = Vector.VECTOR_ZERO.clone();
 
         this.originalImage = pic;
-        this.reflectedImage = reflectHorizontally(this.originalImage);
+        this.reflectedImage = null;
         this.image = this.originalImage;
 
         this.width = this.originalImage.getWidth();
@@ -93,6 +104,29 @@ public class Sprite implements Drawable {
         return image;
     }
 
+    /**
+     * This method creates a blank image in the same format as the screen, so drawing
+     * it can stay on the accelerated path. If there is no screen, a plain image is
+     * created instead.
+     * @param width The width of the image.
+     * @param height The height of the image.
+     * @param transparency The transparency of the image, such as {@code Transparency.OPAQUE}.
+     * @return A new {@code BufferedImage} object.
+     * @see Transparency
+     */
+    public static BufferedImage createCompatibleImage(int width, int height, int transparency) {
+        if (GraphicsEnvironment.isHeadless()) {
+            if (transparency == Transparency.OPAQUE) {
+                return new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            }
+            return new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        }
+
+        GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                .getDefaultScreenDevice().getDefaultConfiguration();
+        return config.createCompatibleImage(width, height, transparency);
+    }
+
     public int getX() {
         return (int) this.position.getX();
     }
@@ -165,12 +199,30 @@ public class Sprite implements Drawable {
         graphics.drawImage(this.image, (int) position.getX(), (int) position.getY(), null);
     }
 
+    /**
+     * This method draws this {@code Sprite} onto a surface at a coordinate.
+     * @param graphics The {@code Graphics} of the surface to draw on.
+     * @param x The top-left x-coordinate to draw this {@code Sprite}.
+     * @param y The top-left y-coordinate to draw this {@code Sprite}.
+     */
+    public void draw(Graphics graphics, int x, int y) {
+        graphics.drawImage(this.image, x, y, null);
+    }
+
     public boolean checkReflectedHorizontally() {
-        return this.image == this.reflectedImage;
+        return this.image != this.originalImage;
     }
 
+    /**
+     * This method reflects this {@code Sprite} over a vertical line. The reflected
+     * image is only made the first time this {@code Sprite} is reflected.
+     * @param xLine The x-coordinate of the line to reflect over.
+     */
     public void reflectHorizontally(int xLine) {
         if (!this.checkReflectedHorizontally()) {
+            if (this.reflectedImage == null) {
+                this.reflectedImage = getReflectedImage(this.originalImage);
+            }
             this.image = this.reflectedImage;
         } else {
             this.image = this.originalImage;
@@ -180,15 +232,36 @@ public class Sprite implements Drawable {
         this.relPosition.setX(this.getRelX() - this.getWidth());
     }
 
+    /**
+     * This method gets the reflected copy of an image, reflecting it the first
+     * time it is asked for. The copy is shared, so it should not be changed.
+     * @param image The image to reflect.
+     * @return The shared reflected image.
+     * @see Sprite#reflectHorizontally(BufferedImage)
+     */
+    public static synchronized BufferedImage getReflectedImage(BufferedImage image) {
+        BufferedImage reflectedImage = reflectedImages.get(image);
+        if (reflectedImage == null) {
+            reflectedImage = reflectHorizontally(image);
+            reflectedImages.put(image, reflectedImage);
+        }
+        return reflectedImage;
+    }
+
+    /**
+     * This method creates a new image that is an image reflected horizontally.
+     * The whole image is reflected at once by an {@code AffineTransformOp}.
+     * @param image The image to reflect.
+     * @return A new {@code BufferedImage} object in the same format as the screen.
+     * @see Sprite#createCompatibleImage
+     */
     public static BufferedImage reflectHorizontally(BufferedImage image) {
-        BufferedImage newImage = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        BufferedImage newImage = createCompatibleImage(image.getWidth(), image.getHeight(),
+                image.getTransparency());
 
-        for (int y = 0; y < image.getHeight(); y++) {
-            for (int x = 0; x < image.getWidth(); x++) {
-                int colour = image.getRGB(x, y);
-                newImage.setRGB(image.getWidth() - x - 1, y, colour);
-            }
-        }
+        AffineTransform reflection = AffineTransform.getScaleInstance(-1, 1);
+        reflection.translate(-image.getWidth(), 0);
+        new AffineTransformOp(reflection, AffineTransformOp.TYPE_NEAREST_NEIGHBOR).filter(image, newImage);
 
         return newImage;
     }
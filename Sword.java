@@ -78,7 +78,7 @@ public class Sword extends Entity implements Collidable {
             this.activeCycle.reset();
             this.attackCycle.reset();
             this.activeCycle = idleCycle;
-            this.activeCycle.setPos(this.getPos());
+            this.activeCycle.setPos(this.getRefPos());
         }
     }
 
@@ -107,6 +107,20 @@ public class Sword extends Entity implements Collidable {
         return this.activeCycle.intersects(otherCycle);
     }
 
+    /**
+     * This method determines whether an {@code AnimationFrame} that is not played by
+     * an {@code AnimationCycle} intersects with this {@code Sword}.
+     * @param otherFrame The {@code AnimationFrame} to check.
+     * @param otherAnchorX The anchor x-coordinate of the frame.
+     * @param otherAnchorY The anchor y-coordinate of the frame.
+     * @param otherFacing The way the frame faces.
+     * @return {@code true} if they do intersect, {@code false} otherwise.
+     */
+    public boolean intersects(AnimationFrame otherFrame, double otherAnchorX, double otherAnchorY,
+            int otherFacing) {
+        return this.activeCycle.intersects(otherFrame, otherAnchorX, otherAnchorY, otherFacing);
+    }
+
     @Override
     public int getWidth() {
         return this.activeCycle.getFrameWidth();
@@ -119,14 +133,12 @@ public class Sword extends Entity implements Collidable {
 
     @Override
     public int getCenterX() {
-        RelativeHitbox generalHitbox = (RelativeHitbox) this.getGeneralHitbox();
-        return generalHitbox.getX() + generalHitbox.getWidth() / 2;
+        return this.activeCycle.getCenterX();
     }
 
     @Override
     public int getCenterY() {
-        RelativeHitbox generalHitbox = (RelativeHitbox) this.getGeneralHitbox();
-        return generalHitbox.getY() + generalHitbox.getHeight() / 2;
+        return this.activeCycle.getCenterY();
     }
 
     @Override
@@ -136,7 +148,7 @@ public class Sword extends Entity implements Collidable {
 
     @Override
     public Hitbox getGeneralHitbox() {
-        return this.activeCycle.getGeneralHitbox().clone();
+        return this.activeCycle.getGeneralHitbox();
     }
 
     public int getDamage() {
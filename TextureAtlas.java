@@ -0,0 +1,175 @@
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+
+/**
+ * This class packs many small images into a few large pages. The pages are
+ * created in the same format as the screen, so drawing from them stays on the
+ * accelerated path no matter what format the images were loaded in. Each image
+ * is addressed by an id and handed out as a region of its page, which shares the
+ * pixels of the page instead of keeping its own copy.
+ * <p>Opaque and transparent images are packed onto separate pages. Images larger
+ * than a quarter of a page get a page of their own that is exactly their size.</p>
+ * @see Sprite#createCompatibleImage
+ */
+public class TextureAtlas {
+    private int pageSize;
+    private ArrayList<Page> pages;
+    private HashMap<String, BufferedImage> regions;
+
+    /**
+     * This constructs an empty {@code TextureAtlas} object.
+     * @param pageSize The width and height of each shared page.
+     */
+    public TextureAtlas(int pageSize) {
+        this.pageSize = pageSize;
+        this.pages = new ArrayList<Page>();
+        this.regions = new HashMap<String, BufferedImage>();
+    }
+
+    /**
+     * This method loads an image from file into this {@code TextureAtlas}, using
+     * the file name as its id. An image that was already loaded is not loaded again.
+     * @param picName The file name of the image.
+     * @return The region of the atlas holding the image, {@code null} if it could not be loaded.
+     */
+    public BufferedImage load(String picName) {
+        BufferedImage region = this.regions.get(picName);
+        if (region != null) {
+            return region;
+        }
+
+        BufferedImage image = Sprite.tryLoadImage(picName);
+        if (image == null) {
+            return null;
+        }
+        return this.add(picName, image);
+    }
+
+    /**
+     * This method copies an image into this {@code TextureAtlas}. It is placed on
+     * the first page with room for it, and a new page is created if none has room.
+     * @param id The id to address the image by.
+     * @param image The image to copy.
+     * @return The region of the atlas holding the image.
+     */
+    public BufferedImage add(String id, BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        int transparency = image.getTransparency();
+        if (transparency != Transparency.OPAQUE) {
+            transparency = Transparency.TRANSLUCENT;
+        }
+
+        // Find a page with room, or make a new one.
+        Page page = null;
+        if (width * height <= this.pageSize * this.pageSize / 4 && width <= this.pageSize
+                && height <= this.pageSize) {
+            for (Page curPage: this.pages) {
+                if (curPage.transparency == transparency && curPage.makeRoom(width, height)) {
+                    page = curPage;
+                    break;
+                }
+            }
+            if (page == null) {
+                page = new Page(this.pageSize, this.pageSize, transparency);
+                page.makeRoom(width, height);
+                this.pages.add(page);
+            }
+        } else {
+            page = new Page(width, height, transparency);
+            page.makeRoom(width, height);
+            this.pages.add(page);
+        }
+
+        // Copy the image onto the page.
+        Graphics2D graphics = page.image.createGraphics();
+        graphics.setComposite(AlphaComposite.Src);
+        graphics.drawImage(image, page.cursorX, page.shelfY, null);
+        graphics.dispose();
+
+        BufferedImage region = page.image.getSubimage(page.cursorX, page.shelfY, width, height);
+        page.cursorX += width;
+        this.regions.put(id, region);
+        return region;
+    }
+
+    /**
+     * This method gets the region of this {@code TextureAtlas} holding an image.
+     * @param id The id of the image.
+     * @return The region holding the image, {@code null} if there is no image with the id.
+     */
+    public BufferedImage get(String id) {
+        return this.regions.get(id);
+    }
+
+    public int getNumPages() {
+        return this.pages.size();
+    }
+
+    /**
+     * This method returns a string representation of this {@code TextureAtlas}
+     * in the format "TextureAtlas (regions: r, pages: p)".
+     */
+    @Override
+    public String toString() {
+        return "TextureAtlas (regions: " + this.regions.size() + ", pages: " + this.getNumPages() + ")";
+    }
+
+    /**
+     * This class represents a single page of the atlas. Images are placed onto
+     * shelves from left to right, and a new shelf is started under the tallest
+     * image of the last one when the row is full.
+     */
+    private static class Page {
+        private BufferedImage image;
+        private int transparency;
+
+        // The top-left corner of the next free space, and the height of the current shelf.
+        private int cursorX;
+        private int shelfY;
+        private int shelfHeight;
+
+        /**
+         * This constructs an empty {@code Page} object.
+         * @param width The width of the page.
+         * @param height The height of the page.
+         * @param transparency The transparency of the images on the page.
+         */
+        private Page(int width, int height, int transparency) {
+            this.image = Sprite.createCompatibleImage(width, height, transparency);
+            this.transparency = transparency;
+            this.cursorX = 0;
+            this.shelfY = 0;
+            this.shelfHeight = 0;
+        }
+
+        /**
+         * This method moves the cursor to the next free space large enough for an
+         * image, starting a new shelf if the current one is full.
+         * @param width The width of the image.
+         * @param height The height of the image.
+         * @return {@code true} if there is room on this page, {@code false} otherwise.
+         */
+        private boolean makeRoom(int width, int height) {
+            if (this.cursorX + width > this.image.getWidth()) {
+                if (this.shelfY + this.shelfHeight + height > this.image.getHeight()
+                        || width > this.image.getWidth()) {
+                    return false;
+                }
+                this.cursorX = 0;
+                this.shelfY += this.shelfHeight;
+                this.shelfHeight = 0;
+            } else if (this.shelfY + height > this.image.getHeight()) {
+                return false;
+            }
+
+            this.shelfHeight = Math.max(this.shelfHeight, height);
+            return true;
+        }
+    }
+}
@@ -60,16 +60,11 @@ public class Tile implements Drawable, Debuggable, Collidable {
         this.hitbox = new Hitbox(position, LENGTH, LENGTH);
 
         // Determine the sprite and whether it is solid or not.
-        switch (type) {
-            case SAND:
-                this.sprite = Const.SAND_TILE_SPRITE;
-                this.solid = false;
-                break;
-            case ROCK:
-                this.sprite = Const.ROCK_TILE_SPRITE;
-                this.solid = true;
-                this.hitbox.setColor(Const.BLUE);
-                break;
+        TileType tileType = TileType.get(type);
+        if (tileType != null) {
+            this.sprite = tileType.getSprite();
+            this.solid = tileType.checkSolid();
+            this.hitbox.setColor(tileType.getHitboxColor());
         }
     }
 
@@ -117,6 +112,26 @@ public class Tile implements Drawable, Debuggable, Collidable {
         return this.hitbox.intersects(other);
     }
 
+    /**
+     * This method calculates the first tile column (or row) touched by a span that
+     * starts at a coordinate. Tiles include both of their edges, like hitboxes do.
+     * @param start The left (or top) coordinate of the span.
+     * @return The index of the first tile touched, counting from the origin.
+     */
+    public static int getFirstTileTouching(int start) {
+        return Math.floorDiv(start - 1, LENGTH);
+    }
+
+    /**
+     * This method calculates the last tile column (or row) touched by a span that
+     * ends at a coordinate. Tiles include both of their edges, like hitboxes do.
+     * @param end The right (or bottom) coordinate of the span.
+     * @return The index of the last tile touched, counting from the origin.
+     */
+    public static int getLastTileTouching(int end) {
+        return Math.floorDiv(end, LENGTH);
+    }
+
     /**
      * This method returns a string representing the type of this {@code Tile}.
      */
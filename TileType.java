@@ -0,0 +1,109 @@
+import java.awt.Color;
+
+/**
+ * This class represents a kind of tile, such as sand or rock. There is one shared
+ * {@code TileType} object for each kind, so a {@code Chunk} only needs to store
+ * a small id for each of its tiles.
+ * @see Tile
+ * @see Chunk
+ */
+public final class TileType {
+    // Tile type ids.
+    public static final byte SAND_ID = 0;
+    public static final byte ROCK_ID = 1;
+
+    public static final TileType SAND = new TileType(SAND_ID, Tile.SAND, Const.SAND_TILE_SPRITE,
+            false, Const.RED);
+    public static final TileType ROCK = new TileType(ROCK_ID, Tile.ROCK, Const.ROCK_TILE_SPRITE,
+            true, Const.BLUE);
+
+    // All the tile types, indexed by id.
+    private static final TileType[] TYPES = {SAND, ROCK};
+
+    private byte id;
+    private char symbol;
+    private Sprite sprite;
+    // Whether tiles of this type should be collidable with entities or not.
+    private boolean solid;
+    private Color hitboxColor;
+
+    /**
+     * This constructs a {@code TileType} object.
+     * @param id The id of this {@code TileType}, its index in the table of types.
+     * @param symbol The character used for this {@code TileType} in chunk files.
+     * @param sprite The sprite to draw tiles of this type with.
+     * @param solid Whether tiles of this type are solid.
+     * @param hitboxColor The colour of the hitbox of tiles of this type.
+     */
+    private TileType(byte id, char symbol, Sprite sprite, boolean solid, Color hitboxColor) {
+        this.id = id;
+        this.symbol = symbol;
+        this.sprite = sprite;
+        this.solid = solid;
+        this.hitboxColor = hitboxColor;
+    }
+
+    public byte getId() {
+        return this.id;
+    }
+
+    public char getSymbol() {
+        return this.symbol;
+    }
+
+    public Sprite getSprite() {
+        return this.sprite;
+    }
+
+    public Color getHitboxColor() {
+        return this.hitboxColor;
+    }
+
+    /**
+     * This method checks whether tiles of this type are solid or not.
+     * @return {@code true} if they are solid, {@code false} otherwise.
+     */
+    public boolean checkSolid() {
+        return this.solid;
+    }
+
+    /**
+     * This method gets the {@code TileType} with an id.
+     * @param id The id of the tile type.
+     * @return The {@code TileType} object.
+     */
+    public static TileType get(byte id) {
+        return TYPES[id];
+    }
+
+    /**
+     * This method checks whether an id belongs to a {@code TileType}.
+     * @param id The id to check.
+     * @return {@code true} if there is a tile type with the id, {@code false} otherwise.
+     */
+    public static boolean checkValidId(byte id) {
+        return 0 <= id && id < TYPES.length;
+    }
+
+    /**
+     * This method gets the {@code TileType} used for a character in chunk files.
+     * @param symbol The character of the tile type.
+     * @return The {@code TileType} object, {@code null} if no type uses the character.
+     */
+    public static TileType get(char symbol) {
+        for (TileType type: TYPES) {
+            if (type.getSymbol() == symbol) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This method returns the character used for this {@code TileType}.
+     */
+    @Override
+    public String toString() {
+        return Character.toString(this.symbol);
+    }
+}
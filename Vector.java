@@ -169,6 +169,27 @@ public class Vector {
         this.y = y;
     }
 
+    /**
+     * This method moves this {@code Vector} to a coordinate without creating a new
+     * {@code Vector}.
+     * @param x The new x-coordinate.
+     * @param y The new y-coordinate.
+     */
+    public void set(double x, double y) {
+        this.x = x;
+        this.y = y;
+    }
+
+    /**
+     * This method copies the x and y parts of another {@code Vector} into this
+     * {@code Vector}. It does NOT store a reference to the other {@code Vector}.
+     * @param other The {@code Vector} to copy.
+     */
+    public void set(Vector other) {
+        this.x = other.getX();
+        this.y = other.getY();
+    }
+
     /**
      * This method sets this {@code Vector} to the specified length.
      * @param length The new length of this {@code Vector}.
@@ -237,6 +258,34 @@ public class Vector {
         return tmp;
     }
 
+    /**
+     * This method stores the sum of two {@code Vector}s in an existing {@code Vector}
+     * instead of creating a new one. The destination can be one of the other two.
+     * @param v1 The first {@code Vector}.
+     * @param v2 The second {@code Vector}.
+     * @param dest The {@code Vector} to store the sum in.
+     * @return The destination {@code Vector}.
+     */
+    public static Vector sumInto(Vector v1, Vector v2, Vector dest) {
+        dest.set(v1.getX() + v2.getX(), v1.getY() + v2.getY());
+        return dest;
+    }
+
+    /**
+     * This method stores the difference of two {@code Vector}s in an existing
+     * {@code Vector} instead of creating a new one. If {@code v1 = (a, b)} and
+     * {@code v2 = (c, d)}, the destination is set to {@code (a-c, b-d)}. The
+     * destination can be one of the other two.
+     * @param v1 The first {@code Vector}.
+     * @param v2 The second {@code Vector}.
+     * @param dest The {@code Vector} to store the difference in.
+     * @return The destination {@code Vector}.
+     */
+    public static Vector differenceInto(Vector v1, Vector v2, Vector dest) {
+        dest.set(v1.getX() - v2.getX(), v1.getY() - v2.getY());
+        return dest;
+    }
+
     /**
      * This method calculates the Manhattan distance between two {@code Vector}s.
      * The Manhattan distance is the sum of the differences in the X and Y values.
@@ -277,7 +326,25 @@ public class Vector {
      * they are farther than the distance. 
      */
     public static int compareDistance(Vector pos1, Vector pos2, double checkDistance) {
-        double squareDistance = getSquareEuclideanDistanceFrom(pos1, pos2);
+        return compareDistance(pos1.getX(), pos1.getY(), pos2.getX(), pos2.getY(), checkDistance);
+    }
+
+    /**
+     * This method calculates whether two coordinates are within a certain distance
+     * of each other, the same way as {@link #compareDistance(Vector, Vector, double)},
+     * but without needing a {@code Vector} for either coordinate.
+     * @param x1 The x-coordinate of the first coordinate.
+     * @param y1 The y-coordinate of the first coordinate.
+     * @param x2 The x-coordinate of the second coordinate.
+     * @param y2 The y-coordinate of the second coordinate.
+     * @param checkDistance The distance to compare to.
+     * @return A negative integer if the coordinates are closer than the specified 
+     * distance, {@code 0} if they are exactly the distance, and a positive integer if 
+     * they are farther than the distance. 
+     */
+    public static int compareDistance(double x1, double y1, double x2, double y2,
+            double checkDistance) {
+        double squareDistance = getSquareEuclideanDistance(x1, y1, x2, y2);
         double squareCheckDistance = checkDistance * checkDistance;
         return Double.compare(squareDistance, squareCheckDistance);
     }
@@ -290,8 +357,21 @@ public class Vector {
      * @return The square of the Euclidean distance as a {@code double}.
      */
     public static double getSquareEuclideanDistanceFrom(Vector pos1, Vector pos2) {
-        double deltaX = pos1.getX() - pos2.getX();
-        double deltaY = pos1.getY() - pos2.getY();
+        return getSquareEuclideanDistance(pos1.getX(), pos1.getY(), pos2.getX(), pos2.getY());
+    }
+
+    /**
+     * This method calculates the Euclidean distance squared between two coordinates
+     * without needing a {@code Vector} for either of them.
+     * @param x1 The x-coordinate of the first coordinate.
+     * @param y1 The y-coordinate of the first coordinate.
+     * @param x2 The x-coordinate of the second coordinate.
+     * @param y2 The y-coordinate of the second coordinate.
+     * @return The square of the Euclidean distance as a {@code double}.
+     */
+    public static double getSquareEuclideanDistance(double x1, double y1, double x2, double y2) {
+        double deltaX = x1 - x2;
+        double deltaY = y1 - y2;
 
         double squareDistance = deltaX * deltaX + deltaY * deltaY;
         return squareDistance;
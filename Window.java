@@ -60,9 +60,11 @@ public class Window {
 
     /**
      * This method redraws the entire window. This redraw occurs regularly by a Timer
-     * at a fixed rate based on a constant.
+     * at a fixed rate based on a constant. The {@code GameScreen} is drawn by the
+     * {@code GameLoop} instead, so this only affects the menu screens.
      * @see javax.swing.Timer
      * @see Const
+     * @see GameScreen
      */
     public void draw() {
         this.frame.repaint();